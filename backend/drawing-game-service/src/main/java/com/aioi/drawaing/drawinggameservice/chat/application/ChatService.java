@@ -2,11 +2,13 @@ package com.aioi.drawaing.drawinggameservice.chat.application;
 
 import com.aioi.drawaing.drawinggameservice.chat.domain.ChatEmoji;
 import com.aioi.drawaing.drawinggameservice.chat.domain.ChatMessage;
+import com.aioi.drawaing.drawinggameservice.chat.infrastructure.ChatMessageBatchWriter;
 import com.aioi.drawaing.drawinggameservice.chat.presentation.ChatMessagePublisher;
 import com.aioi.drawaing.drawinggameservice.chat.presentation.dto.ChatEmojiDto;
 import com.aioi.drawaing.drawinggameservice.chat.presentation.dto.ChatMessageDto;
+import com.aioi.drawaing.drawinggameservice.common.socket.SessionTopicRegistry;
 import com.aioi.drawaing.drawinggameservice.drawing.application.DrawingService;
-import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording.SessionRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
@@ -22,7 +24,10 @@ public class ChatService {
 
     private final MongoTemplate mongoTemplate;
     private final ChatMessagePublisher chatMessagePublisher;
+    private final ChatMessageBatchWriter chatMessageBatchWriter;
     private final DrawingService drawingService;
+    private final SessionRecorder sessionRecorder;
+    private final SessionTopicRegistry sessionTopicRegistry;
 
     public void publishChat(String roomId, String sessionId, ChatMessageDto messageDto){
         log.info("{}: {}", sessionId, messageDto.toString());
@@ -30,8 +35,11 @@ public class ChatService {
         if(decrementParticipantChanceCount(sessionId, messageDto)){
             ChatMessage chatMessage = ChatMessage.createMessage(sessionId, messageDto);
             log.info("{}: {}", sessionId, chatMessage);
-            mongoTemplate.save(chatMessage);
-            chatMessagePublisher.publishChat("/topic/chat.message/" + roomId +"/"+sessionId, messageDto);
+            // 브로드캐스트를 먼저 하고 저장은 batch writer 에 맡긴다.
+            chatMessagePublisher.publishChat(sessionTopicRegistry.get(roomId, sessionId).chat(), messageDto);
+            chatMessageBatchWriter.enqueue(chatMessage);
+            sessionRecorder.recordChat(sessionId, messageDto.userId(), messageDto.message());
+            drawingService.judgeAnswer(roomId, sessionId, messageDto.userId(), messageDto.message());
         }
         else{
             log.error("채팅 횟수 기회가 없습니다.");
@@ -39,16 +47,7 @@ public class ChatService {
     }
 
     private boolean decrementParticipantChanceCount(String sessionId, ChatMessageDto messageDto) {
-        Session session = drawingService.findSession(sessionId);
-
-        log.info("decrementParticipantChanceCount: {}: {}", sessionId, session.getChanceCount(messageDto.userId()));
-
-        if(session.getChanceCount(messageDto.userId())>0){
-            session.decrementParticipantChanceCount(messageDto.userId());
-            mongoTemplate.save(session);
-            return true;
-        }
-        return false;
+        return drawingService.decrementParticipantChanceCount(sessionId, messageDto.userId());
     }
 
 
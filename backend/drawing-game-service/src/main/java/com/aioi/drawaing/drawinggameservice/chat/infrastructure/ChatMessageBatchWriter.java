@@ -0,0 +1,112 @@
+package com.aioi.drawaing.drawinggameservice.chat.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.chat.domain.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 채팅 메시지를 bounded 큐에 쌓아 두었다가 batch-size 개가 모이거나
+ * flush-interval 이 지나면 insertMany 로 한 번에 저장한다.
+ */
+@Slf4j
+@Component
+public class ChatMessageBatchWriter {
+    private final MongoTemplate mongoTemplate;
+    private final ScheduledExecutorService schedule;
+    private final BlockingQueue<ChatMessage> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ChatOverflowPolicy overflowPolicy;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final DistributionSummary batchSizes;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public ChatMessageBatchWriter(MongoTemplate mongoTemplate, ScheduledExecutorService schedule, MeterRegistry meterRegistry,
+                                  @Value("${game.chat.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${game.chat.batch-size:200}") int batchSize,
+                                  @Value("${game.chat.flush-interval-millis:100}") long flushIntervalMillis,
+                                  @Value("${game.chat.overflow-policy:DROP}") ChatOverflowPolicy overflowPolicy) {
+        this.mongoTemplate = mongoTemplate;
+        this.schedule = schedule;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.overflowPolicy = overflowPolicy;
+        Gauge.builder("chat.persist.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("chat.persist.batch.size").register(meterRegistry);
+        this.dropped = Counter.builder("chat.persist.dropped").register(meterRegistry);
+        this.failed = Counter.builder("chat.persist.failed").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startFlusher() {
+        schedule.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushSafely();
+    }
+
+    public void enqueue(ChatMessage chatMessage) {
+        if (queue.offer(chatMessage)) {
+            if (queue.size() >= batchSize) {
+                schedule.execute(this::flushSafely);
+            }
+            return;
+        }
+        if (overflowPolicy == ChatOverflowPolicy.CALLER_RUNS) {
+            insert(List.of(chatMessage));
+            return;
+        }
+        dropped.increment();
+        log.warn("채팅 저장 대기열이 가득 차서 메시지 기록을 버립니다: {}", chatMessage.getSessionId());
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    // 주기 flush 와 크기 초과 flush 가 겹치면 한쪽만 돌고, 큐가 batch 미만이 될 때까지 비운다.
+    private void flushSafely() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<ChatMessage> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                insert(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    private void insert(List<ChatMessage> batch) {
+        try {
+            mongoTemplate.insert(batch, ChatMessage.class);
+            batchSizes.record(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.error("채팅 메시지 {}건 저장에 실패했습니다.", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.aioi.drawaing.drawinggameservice.chat.infrastructure;
+
+// 저장 대기열이 가득 찼을 때(Mongo 가 느릴 때)의 처리 방식
+public enum ChatOverflowPolicy {
+    // 채팅은 이미 브로드캐스트됐으므로 기록만 버린다.
+    DROP,
+    // 호출한 스레드에서 바로 저장해 인바운드 처리 속도를 Mongo 에 맞춘다.
+    CALLER_RUNS
+}
@@ -2,16 +2,16 @@ package com.aioi.drawaing.drawinggameservice.chat.presentation;
 
 import com.aioi.drawaing.drawinggameservice.chat.domain.ChatMessage;
 import com.aioi.drawaing.drawinggameservice.chat.presentation.dto.ChatMessageDto;
+import com.aioi.drawaing.drawinggameservice.common.socket.PreparedMessagePublisher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class ChatMessagePublisher {
-    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final PreparedMessagePublisher preparedMessagePublisher;
 
     public void publishChat(String topic, ChatMessageDto message) {
-        simpMessagingTemplate.convertAndSend(topic, message);
+        preparedMessagePublisher.publish(topic, message);
     }
 }
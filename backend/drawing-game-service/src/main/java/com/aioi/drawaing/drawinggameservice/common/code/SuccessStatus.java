@@ -9,7 +9,8 @@ import org.springframework.http.HttpStatus;
 public enum SuccessStatus {
 
     CREATED_ROOM(HttpStatus.CREATED, "방 생성에 성공했습니다."),
-    ROOM_CODE_FOUND(HttpStatus.FOUND, "방 코드 찾기에 성공했습니다.")
+    ROOM_CODE_FOUND(HttpStatus.FOUND, "방 코드 찾기에 성공했습니다."),
+    LOBBY_FOUND(HttpStatus.OK, "로비 방 목록 조회에 성공했습니다.")
     ;
 
     private final HttpStatus httpStatus;
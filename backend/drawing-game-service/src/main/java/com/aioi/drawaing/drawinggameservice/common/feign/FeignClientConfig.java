@@ -2,13 +2,35 @@ package com.aioi.drawaing.drawinggameservice.common.feign;
 
 import feign.Client;
 import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
 
 @Configuration
 public class FeignClientConfig {
+    // Feign 클라이언트와 모델 서버 호출이 커넥션 풀을 같이 쓴다.
+    @Bean
+    @Primary
+    public OkHttpClient okHttpClient() {
+        return new OkHttpClient();
+    }
+
+    @Bean
+    public Client feignClient(OkHttpClient okHttpClient) {
+        return new feign.okhttp.OkHttpClient(okHttpClient);
+    }
+
+    // 모델 서버가 느려져도 요청이 오래 붙잡히지 않도록 호출 전체에 타임아웃을 둔다.
     @Bean
-    public Client feignClient() {
-        return new feign.okhttp.OkHttpClient(new OkHttpClient());
+    public OkHttpClient modelServerHttpClient(OkHttpClient okHttpClient,
+                                              @Value("${game.guess.connect-timeout-millis:500}") long connectTimeoutMillis,
+                                              @Value("${game.guess.timeout-millis:2000}") long timeoutMillis) {
+        return okHttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .callTimeout(Duration.ofMillis(timeoutMillis))
+                .build();
     }
 }
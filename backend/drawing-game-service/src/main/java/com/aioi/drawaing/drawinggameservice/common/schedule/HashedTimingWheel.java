@@ -0,0 +1,240 @@
+package com.aioi.drawaing.drawinggameservice.common.schedule;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 모든 게임 시계를 하나의 스레드로 구동하는 해시 타이밍 휠.
+ * 작업 등록/취소는 O(1)이고, 한 틱에서는 해당 버킷의 만료 작업만 실행한다.
+ * 작업은 휠 스레드에서 실행되므로 블로킹 작업은 별도 executor 로 넘겨야 한다.
+ */
+@Slf4j
+public class HashedTimingWheel {
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong activeCount = new AtomicLong();
+    // 한 틱의 만료 작업을 모두 실행한 뒤 휠 스레드에서 호출한다.
+    private final List<Runnable> tickListeners = new CopyOnWriteArrayList<>();
+    private final Thread worker;
+    private volatile boolean running;
+    // 다음에 처리할 틱 번호 (휠 스레드만 증가시킨다)
+    private volatile long tick;
+
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration, ticksPerWheel 은 0보다 커야 합니다.");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[normalizeTicksPerWheel(ticksPerWheel)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.worker = new Thread(this::run, "game-clock-wheel");
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    public WheelTimeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long delayTicks = Math.max(0, (unit.toNanos(delay) + tickNanos - 1) / tickNanos);
+        WheelTimeout timeout = new WheelTimeout(this, task, tick + delayTicks);
+        activeCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    // 만료 작업이 쌓아 둔 후속 처리를 틱마다 한 번에 넘길 때 쓴다.
+    public void addTickListener(Runnable listener) {
+        tickListeners.add(listener);
+    }
+
+    public long activeCount() {
+        return activeCount.get();
+    }
+
+    public long tickNanos() {
+        return tickNanos;
+    }
+
+    // 버킷 인덱스를 비트 마스크로 구하기 위해 2의 거듭제곱으로 맞춘다.
+    private static int normalizeTicksPerWheel(int ticksPerWheel) {
+        int normalized = 1;
+        while (normalized < ticksPerWheel) {
+            normalized <<= 1;
+        }
+        return normalized;
+    }
+
+    private void run() {
+        long startNanos = System.nanoTime();
+        while (running) {
+            long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            advance();
+        }
+    }
+
+    // 한 틱을 처리한다. 휠 스레드(또는 테스트)에서만 호출한다.
+    void advance() {
+        removeCancelled();
+        transferPending();
+        wheel[(int) (tick & mask)].expire();
+        tick++;
+        for (Runnable listener : tickListeners) {
+            try {
+                listener.run();
+            } catch (Throwable t) {
+                log.warn("타이밍 휠 틱 리스너 실행 중 예외가 발생했습니다.", t);
+            }
+        }
+    }
+
+    private void transferPending() {
+        WheelTimeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() != WheelTimeout.ST_INIT) {
+                continue;
+            }
+            long target = Math.max(timeout.targetTick, tick);
+            timeout.remainingRounds = (target - tick) / wheel.length;
+            wheel[(int) (target & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    public static final class WheelTimeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedTimingWheel timer;
+        private final Runnable task;
+        private final long targetTick;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private long remainingRounds;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+        private Bucket bucket;
+
+        private WheelTimeout(HashedTimingWheel timer, Runnable task, long targetTick) {
+            this.timer = timer;
+            this.task = task;
+            this.targetTick = targetTick;
+        }
+
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.activeCount.decrementAndGet();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timer.activeCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("timing wheel task 실행 중 예외가 발생했습니다.", t);
+            }
+        }
+    }
+
+    // 버킷은 휠 스레드에서만 접근하는 이중 연결 리스트
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expire() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
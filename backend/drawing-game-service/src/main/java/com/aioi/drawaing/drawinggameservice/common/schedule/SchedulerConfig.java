@@ -1,10 +1,12 @@
 package com.aioi.drawaing.drawinggameservice.common.schedule;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class SchedulerConfig {
@@ -12,4 +14,13 @@ public class SchedulerConfig {
     public ScheduledExecutorService scheduledExecutorService() {
         return Executors.newScheduledThreadPool(10);
     }
+
+    // 모든 세션 타이머가 공유하는 타이밍 휠
+    @Bean(destroyMethod = "stop")
+    public HashedTimingWheel gameClockWheel(@Value("${game.clock.tick-millis:100}") long tickMillis,
+                                            @Value("${game.clock.ticks-per-wheel:512}") int ticksPerWheel) {
+        HashedTimingWheel wheel = new HashedTimingWheel(tickMillis, TimeUnit.MILLISECONDS, ticksPerWheel);
+        wheel.start();
+        return wheel;
+    }
 }
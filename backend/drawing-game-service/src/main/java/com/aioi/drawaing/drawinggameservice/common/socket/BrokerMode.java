@@ -0,0 +1,11 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+// STOMP 메시지를 구독자에게 전달하는 방식
+public enum BrokerMode {
+    // JVM 안의 simple broker. 같은 방의 모든 클라이언트가 한 노드에 붙어 있어야 한다.
+    SIMPLE,
+    // 외부 STOMP 브로커(ActiveMQ Artemis 등)로 relay 한다.
+    RELAY,
+    // simple broker 를 쓰되 /topic 메시지를 Kafka 로 다른 노드에 퍼뜨린다.
+    KAFKA
+}
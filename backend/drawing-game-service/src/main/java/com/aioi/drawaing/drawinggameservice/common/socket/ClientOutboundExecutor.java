@@ -0,0 +1,69 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * game.socket.thread-mode=VIRTUAL 일 때 clientOutboundChannel 의 executor.
+ * 웹소켓 세션마다 대기열을 두어 한 클라이언트로 가는 프레임은 보낸 순서대로 쓰고,
+ * 실제 소켓 쓰기는 작업마다 가상 스레드에서 한다. 느린 소켓 하나가 풀 스레드를 붙잡아
+ * 다른 클라이언트 전달이 밀리는 일이 없다.
+ */
+@Slf4j
+@Component
+public class ClientOutboundExecutor {
+    private final ExecutorService executor;
+    private final KeyedSerialExecutor clients;
+
+    public ClientOutboundExecutor(MeterRegistry meterRegistry,
+                                  @Value("${game.socket.thread-mode:PLATFORM}") SocketThreadMode threadMode) {
+        if (threadMode != SocketThreadMode.VIRTUAL) {
+            this.executor = null;
+            this.clients = null;
+            return;
+        }
+        this.executor = VirtualThreads.newPerTaskExecutor("outbound-vt-");
+        this.clients = new KeyedSerialExecutor(executor);
+        Gauge.builder("websocket.outbound.active-clients", clients, KeyedSerialExecutor::activeKeys).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return clients != null;
+    }
+
+    // Executor 빈으로 등록하지 않고 메서드 참조로만 넘긴다. (RoomLaneExecutor 와 같은 이유)
+    public void execute(Runnable task) {
+        clients.execute(sessionId(task), () -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.error("아웃바운드 메시지 전달 중 예외가 발생했습니다.", t);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static String sessionId(Runnable task) {
+        if (task instanceof MessageHandlingRunnable messageTask) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(messageTask.getMessage().getHeaders());
+            if (sessionId != null) {
+                return sessionId;
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,137 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * simple broker 의 구독 저장소. 클라이언트는 /topic/session.timer/{roomId}/{sessionId} 처럼 완성된 목적지만
+ * 구독하므로 목적지 -> (socket sessionId -> subscriptionId 목록) 맵 하나로 찾는다.
+ * 스프링 기본 저장소는 목적지 캐시(기본 1024개)에서 밀려난 목적지마다 전체 구독을 패턴 매칭으로 다시 훑는데,
+ * 진행 중인 세션이 많으면 거의 모든 발행이 그 경우가 된다.
+ * 구독/해지 때 목적지별 맵을 새로 만들어 바꿔 끼우므로, 발행 때 조회는 해시 한 번이고 할당이 없다.
+ * 와일드카드 구독은 기본 저장소에 맡기고, 그런 구독이 있을 때만 결과를 합친다.
+ */
+public class ExactDestinationSubscriptionRegistry extends AbstractSubscriptionRegistry {
+    private static final MultiValueMap<String, String> EMPTY =
+            CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>());
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, MultiValueMap<String, String>> byDestination = new ConcurrentHashMap<>();
+    // socket sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> bySession = new ConcurrentHashMap<>();
+    private final DefaultSubscriptionRegistry patterns = new DefaultSubscriptionRegistry();
+    private final AtomicInteger patternCount = new AtomicInteger();
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        String previous = bySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+        if (previous != null) {
+            remove(sessionId, subscriptionId, previous, message);
+        }
+        if (pathMatcher.isPattern(destination)) {
+            patterns.registerSubscription(message);
+            patternCount.incrementAndGet();
+            return;
+        }
+        byDestination.compute(destination, (key, current) -> {
+            LinkedMultiValueMap<String, String> updated = copy(current);
+            updated.add(sessionId, subscriptionId);
+            return CollectionUtils.unmodifiableMultiValueMap(updated);
+        });
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subscriptions = bySession.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            remove(sessionId, subscriptionId, destination, message);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = bySession.remove(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        int patternSubscriptions = 0;
+        for (Map.Entry<String, String> entry : subscriptions.entrySet()) {
+            if (pathMatcher.isPattern(entry.getValue())) {
+                patternSubscriptions++;
+            } else {
+                removeExact(sessionId, entry.getKey(), entry.getValue());
+            }
+        }
+        if (patternSubscriptions > 0) {
+            patterns.unregisterAllSubscriptions(sessionId);
+            patternCount.addAndGet(-patternSubscriptions);
+        }
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        MultiValueMap<String, String> exact = byDestination.getOrDefault(destination, EMPTY);
+        if (patternCount.get() == 0) {
+            return exact;
+        }
+        MultiValueMap<String, String> matched = patterns.findSubscriptions(message);
+        if (matched.isEmpty()) {
+            return exact;
+        }
+        LinkedMultiValueMap<String, String> merged = copy(exact);
+        matched.forEach(merged::addAll);
+        return merged;
+    }
+
+    private void remove(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        if (pathMatcher.isPattern(destination)) {
+            patterns.unregisterSubscription(message);
+            patternCount.decrementAndGet();
+            return;
+        }
+        removeExact(sessionId, subscriptionId, destination);
+    }
+
+    private void removeExact(String sessionId, String subscriptionId, String destination) {
+        byDestination.computeIfPresent(destination, (key, current) -> {
+            LinkedMultiValueMap<String, String> updated = copy(current);
+            List<String> ids = updated.get(sessionId);
+            if (ids != null) {
+                ids.remove(subscriptionId);
+                if (ids.isEmpty()) {
+                    updated.remove(sessionId);
+                }
+            }
+            return updated.isEmpty() ? null : CollectionUtils.unmodifiableMultiValueMap(updated);
+        });
+    }
+
+    // 발행 스레드가 보고 있는 맵은 건드리지 않도록 목록까지 새로 만든다.
+    private static LinkedMultiValueMap<String, String> copy(MultiValueMap<String, String> current) {
+        LinkedMultiValueMap<String, String> copy = new LinkedMultiValueMap<>();
+        if (current != null) {
+            current.forEach((sessionId, ids) -> copy.put(sessionId, new ArrayList<>(ids)));
+        }
+        return copy;
+    }
+
+    int destinationCount() {
+        return byDestination.size();
+    }
+}
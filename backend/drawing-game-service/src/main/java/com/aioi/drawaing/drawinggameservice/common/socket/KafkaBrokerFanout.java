@@ -0,0 +1,201 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * broker mode 가 KAFKA 일 때 brokerChannel 에 붙는 인터셉터.
+ * 이 노드에서 발행한 /topic 메시지를 Kafka 토픽으로 복제하고,
+ * 다른 노드가 보낸 메시지는 로컬 simple broker 로 다시 넣어 이 노드의 구독자에게 전달한다.
+ * 노드마다 consumer group 이 달라서 모든 노드가 모든 메시지를 받는다.
+ * 전송은 발행한 스레드(방 lane, 게임 시계, stroke flush)에서 하지 않고 전용 스레드 하나에 넘긴다.
+ * Kafka 가 느리거나 닿지 않아 대기열이 차면 복제를 버리고 센다. 로컬 전달은 막지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "game.broker.mode", havingValue = "kafka")
+public class KafkaBrokerFanout implements ChannelInterceptor {
+    static final String ORIGIN_HEADER = "fanout-origin";
+    private static final String CONTENT_TYPE_HEADER = "content-type";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String bootstrapServers;
+    private final String topic;
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final long maxBlockMillis;
+    // 한 스레드에서 보내므로 같은 destination 의 발행 순서가 유지된다.
+    private final ThreadPoolExecutor sender;
+    private final Counter dropped;
+    private final Counter failed;
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private KafkaMessageListenerContainer<String, byte[]> container;
+
+    public KafkaBrokerFanout(@Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                             @Value("${game.broker.fanout-topic:drawing-broker-fanout}") String topic,
+                             @Value("${game.broker.fanout-queue-capacity:10000}") int queueCapacity,
+                             @Value("${game.broker.fanout-max-block-millis:5}") long maxBlockMillis,
+                             @Lazy SimpMessagingTemplate simpMessagingTemplate,
+                             MeterRegistry meterRegistry) {
+        this.bootstrapServers = bootstrapServers;
+        this.topic = topic;
+        this.maxBlockMillis = maxBlockMillis;
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.sender = newSender(queueCapacity);
+        Gauge.builder("broker.fanout.queue.depth", sender.getQueue(), BlockingQueue::size).register(meterRegistry);
+        this.dropped = Counter.builder("broker.fanout.dropped").register(meterRegistry);
+        this.failed = Counter.builder("broker.fanout.failed").register(meterRegistry);
+    }
+
+    // 테스트에서 Kafka 없이 쓰기 위한 생성자
+    KafkaBrokerFanout(String topic, int queueCapacity, SimpMessagingTemplate simpMessagingTemplate,
+                      KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        this(null, topic, queueCapacity, 0, simpMessagingTemplate, meterRegistry);
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.LINGER_MS_CONFIG, 1,
+                ProducerConfig.ACKS_CONFIG, "1",
+                // 메타데이터를 못 받거나 버퍼가 차도 전송 스레드가 기본값(60초)만큼 멈추지 않게 한다.
+                ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMillis)));
+
+        DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "drawing-broker-fanout-" + nodeId,
+                // 지난 메시지는 의미가 없으므로 접속 이후 것만 받는다.
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class));
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        containerProperties.setMessageListener((MessageListener<String, byte[]>) this::deliver);
+        container = new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+        container.start();
+        log.info("broker fan-out 을 시작합니다. node: {}, topic: {}", nodeId, topic);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+        sender.shutdownNow();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || accessor.getHeader(ORIGIN_HEADER) != null
+                || accessor.getDestination() == null
+                || !accessor.getDestination().startsWith("/topic/")
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        // destination 을 key 로 써서 같은 토픽 메시지의 순서를 지킨다.
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, accessor.getDestination(), payload);
+        record.headers().add(ORIGIN_HEADER, nodeId.getBytes(StandardCharsets.UTF_8));
+        MimeType contentType = accessor.getContentType();
+        if (contentType != null) {
+            record.headers().add(CONTENT_TYPE_HEADER, contentType.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            sender.execute(() -> send(record));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+        return message;
+    }
+
+    private void send(ProducerRecord<String, byte[]> record) {
+        try {
+            kafkaTemplate.send(record).whenComplete((result, e) -> {
+                if (e != null) {
+                    failed.increment();
+                    log.warn("broker fan-out 전송에 실패했습니다: {}", record.key(), e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // max.block.ms 안에 메타데이터나 버퍼를 얻지 못하면 send 가 바로 던진다.
+            failed.increment();
+            log.warn("broker fan-out 전송에 실패했습니다: {}", record.key(), e);
+        }
+    }
+
+    void deliver(ConsumerRecord<String, byte[]> record) {
+        String origin = headerValue(record, ORIGIN_HEADER);
+        if (nodeId.equals(origin)) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setHeader(ORIGIN_HEADER, origin);
+        String contentType = headerValue(record, CONTENT_TYPE_HEADER);
+        if (contentType != null) {
+            accessor.setContentType(MimeType.valueOf(contentType));
+        }
+        accessor.setLeaveMutable(true);
+        simpMessagingTemplate.send(record.key(), MessageBuilder.createMessage(record.value(), accessor.getMessageHeaders()));
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    private static ThreadPoolExecutor newSender(int queueCapacity) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "broker-fanout");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private String headerValue(ConsumerRecord<String, byte[]> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
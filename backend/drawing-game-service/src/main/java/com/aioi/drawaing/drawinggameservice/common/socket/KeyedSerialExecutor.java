@@ -0,0 +1,81 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 같은 키의 작업은 제출한 순서대로 하나씩, 다른 키의 작업은 서로 기다리지 않고 실행한다.
+ * 스레드를 키에 묶지 않고 키마다 대기열만 두며, 대기열에 작업이 있는 동안에만 backing executor 에 한 번 올린다.
+ * 한 방이 Mongo/Kafka 에서 막혀도 같은 lane 에 해시된 다른 방이 뒤에서 기다리지 않는다.
+ */
+public class KeyedSerialExecutor {
+    private final Executor executor;
+    private final Map<String, SerialQueue> queues = new ConcurrentHashMap<>();
+
+    public KeyedSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void execute(String key, Runnable task) {
+        boolean[] start = {false};
+        SerialQueue queue = queues.compute(key, (k, current) -> {
+            SerialQueue target = current != null ? current : new SerialQueue(k);
+            start[0] = target.offer(task);
+            return target;
+        });
+        if (start[0]) {
+            executor.execute(queue);
+        }
+    }
+
+    // 대기열이 남아 있는 키 수. 비어 있는 키는 바로 지우므로 진행 중인 방/클라이언트 수와 같다.
+    public int activeKeys() {
+        return queues.size();
+    }
+
+    private final class SerialQueue implements Runnable {
+        private final String key;
+        // queues.compute 잠금 안에서만 넣고 빼므로 따로 동기화하지 않는다.
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        private SerialQueue(String key) {
+            this.key = key;
+        }
+
+        // 처리 중이 아니었으면 true 를 돌려주고, 호출한 쪽이 executor 에 올린다.
+        private boolean offer(Runnable task) {
+            tasks.add(task);
+            if (running) {
+                return false;
+            }
+            running = true;
+            return true;
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            while ((task = next()) != null) {
+                task.run();
+            }
+        }
+
+        // 마지막 작업을 꺼낸 뒤 비었으면 맵에서 지워, 다음 제출이 새 대기열을 만들게 한다.
+        private Runnable next() {
+            Runnable[] next = {null};
+            queues.compute(key, (k, current) -> {
+                next[0] = tasks.poll();
+                if (next[0] != null) {
+                    return current;
+                }
+                running = false;
+                return null;
+            });
+            return next[0];
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * convertAndSend 대신 payload 를 JSON 바이트로 한 번만 만들어 Message&lt;byte[]&gt; 로 보낸다.
+ * 직렬화는 스레드마다 다시 쓰는 버퍼에서 하고, 여러 목적지로 보내도 바이트는 공유한다.
+ * 헤더는 보낼 때마다 잠그지 않은 채로 새로 만든다. 잠근 헤더를 넘기면 SimpMessagingTemplate 이
+ * 목적지를 쓰려고 헤더 전체를 복사하는데, 그 비용이 새로 만드는 것보다 크다.
+ * Timer, RoundResult 처럼 값이 같으면 같은 JSON 이 되는 불변 record 는 publishCached 로 보내면
+ * 세션이 달라도 이미 만든 바이트를 그대로 다시 쓴다.
+ */
+@Component
+public class PreparedMessagePublisher {
+    // 이보다 커진 버퍼는 한 번 쓰고 놓아준다. (큰 결과 한 번 때문에 스레드마다 큰 배열을 잡고 있지 않도록)
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final ObjectWriter writer;
+    private final int cacheSize;
+    private final Map<Object, byte[]> cache = new ConcurrentHashMap<>();
+    private final ThreadLocal<PooledBuffer> buffers = ThreadLocal.withInitial(PooledBuffer::new);
+    private final Counter cacheHit;
+    private final Counter cacheMiss;
+
+    public PreparedMessagePublisher(SimpMessagingTemplate simpMessagingTemplate,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${game.publish.cache-size:1024}") int cacheSize) {
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.writer = objectMapper.writer();
+        this.cacheSize = cacheSize;
+        this.cacheHit = meterRegistry.counter("socket.publish.cache", "result", "hit");
+        this.cacheMiss = meterRegistry.counter("socket.publish.cache", "result", "miss");
+        Gauge.builder("socket.publish.cache.size", cache, Map::size).register(meterRegistry);
+    }
+
+    public void publish(String destination, Object payload) {
+        send(destination, serialize(payload));
+    }
+
+    // 같은 payload 를 여러 목적지로 보낼 때 직렬화는 한 번만 한다.
+    public void publish(Collection<String> destinations, Object payload) {
+        byte[] json = serialize(payload);
+        for (String destination : destinations) {
+            send(destination, json);
+        }
+    }
+
+    // equals/hashCode 가 값 기준인 불변 payload 만 넘긴다. 가득 차면 비우고 다시 채운다.
+    public void publishCached(String destination, Object payload) {
+        byte[] json = cache.get(payload);
+        if (json != null) {
+            cacheHit.increment();
+        } else {
+            cacheMiss.increment();
+            if (cache.size() >= cacheSize) {
+                cache.clear();
+            }
+            json = serialize(payload);
+            cache.putIfAbsent(payload, json);
+        }
+        send(destination, json);
+    }
+
+    public byte[] serialize(Object payload) {
+        PooledBuffer buffer = buffers.get();
+        try {
+            writer.writeValue(buffer, payload);
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지를 직렬화하지 못했습니다: " + payload.getClass().getSimpleName(), e);
+        } finally {
+            buffer.recycle();
+        }
+    }
+
+    // 받은 바이트는 바꾸지 않는다고 보고 그대로 실어 보낸다.
+    public void send(String destination, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+        simpMessagingTemplate.send(destination, message);
+    }
+
+    int cachedCount() {
+        return cache.size();
+    }
+
+    private static final class PooledBuffer extends ByteArrayOutputStream {
+        private PooledBuffer() {
+            super(1024);
+        }
+
+        private void recycle() {
+            if (buf.length > MAX_RETAINED_BUFFER) {
+                buf = new byte[1024];
+            }
+            count = 0;
+        }
+    }
+}
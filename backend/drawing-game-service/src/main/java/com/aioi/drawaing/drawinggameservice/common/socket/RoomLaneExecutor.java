@@ -0,0 +1,121 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * clientInboundChannel 의 executor.
+ * 같은 roomId 로 가는 메시지는 항상 같은 단일 스레드 lane 에서 도착 순서대로 처리하고,
+ * 다른 방은 서로 다른 lane 에서 병렬로 처리한다.
+ * 목적지에 roomId 가 없는 프레임(CONNECT, DISCONNECT 등)은 웹소켓 세션 기준으로 lane 을 고른다.
+ * VIRTUAL 모드에서는 고정 lane 대신 방마다 대기열을 두고 작업마다 가상 스레드에서 실행한다.
+ * 방 안의 순서는 같고, Mongo 저장처럼 막히는 처리가 다른 방을 붙잡지 않는다.
+ */
+@Slf4j
+@Component
+public class RoomLaneExecutor {
+    private final ExecutorService[] lanes;
+    private final ExecutorService virtualExecutor;
+    private final KeyedSerialExecutor rooms;
+
+    public RoomLaneExecutor(@Value("${game.inbound.lanes:0}") int laneCount,
+                            @Value("${game.socket.thread-mode:PLATFORM}") SocketThreadMode threadMode) {
+        if (threadMode == SocketThreadMode.VIRTUAL) {
+            this.lanes = new ExecutorService[0];
+            this.virtualExecutor = VirtualThreads.newPerTaskExecutor("room-vt-");
+            this.rooms = new KeyedSerialExecutor(virtualExecutor);
+            return;
+        }
+        this.virtualExecutor = null;
+        this.rooms = null;
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors() * 2;
+        this.lanes = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            String name = "room-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    // Executor 빈으로 등록하면 스프링 기본 task executor 가 빠지므로 메서드 참조로만 넘긴다.
+    public void execute(Runnable task) {
+        execute(routingKey(task), task);
+    }
+
+    // 애플리케이션 코드(타이머 콜백 등)가 방의 인바운드 처리와 같은 순서로 실행돼야 할 때 쓴다.
+    public void execute(String roomId, Runnable task) {
+        if (rooms != null) {
+            rooms.execute(roomId == null ? "" : roomId, guarded(task));
+            return;
+        }
+        lane(roomId).execute(guarded(task));
+    }
+
+    // VIRTUAL 모드에서는 0
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+        }
+    }
+
+    private ExecutorService lane(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return lanes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.length];
+    }
+
+    private String routingKey(Runnable task) {
+        if (!(task instanceof MessageHandlingRunnable messageTask)) {
+            return null;
+        }
+        Message<?> message = messageTask.getMessage();
+        String roomId = roomId(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        return roomId != null ? roomId : SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+
+    // "/app/room.join/{roomId}", "/topic/session.draw/{roomId}/{sessionId}" 처럼 세 번째 경로가 roomId 다.
+    static String roomId(String destination) {
+        if (destination == null || !(destination.startsWith("/app/") || destination.startsWith("/topic/"))) {
+            return null;
+        }
+        int actionStart = destination.indexOf('/', 1) + 1;
+        int roomStart = destination.indexOf('/', actionStart) + 1;
+        if (roomStart == 0 || roomStart == destination.length()) {
+            return null;
+        }
+        int roomEnd = destination.indexOf('/', roomStart);
+        return destination.substring(roomStart, roomEnd == -1 ? destination.length() : roomEnd);
+    }
+
+    // 예외로 lane 스레드가 교체되지 않도록 여기서 기록하고 끝낸다.
+    private Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.error("room lane 작업 처리 중 예외가 발생했습니다.", t);
+            }
+        };
+    }
+}
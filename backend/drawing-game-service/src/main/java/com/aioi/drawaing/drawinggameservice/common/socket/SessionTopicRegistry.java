@@ -0,0 +1,44 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * sessionId -> 세션 목적지 묶음. 발행할 때마다 "/topic/..." + roomId + "/" + sessionId 를 이어 붙이지 않도록
+ * 세션 시작 때 만든 SessionTopics 를 들고 있다가 돌려준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionTopicRegistry {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SessionTopics> topics = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("socket.session.topics", topics, Map::size).register(meterRegistry);
+    }
+
+    public SessionTopics open(String roomId, String sessionId) {
+        return topics.computeIfAbsent(sessionId, id -> SessionTopics.of(roomId, sessionId));
+    }
+
+    // 시작하지 않은(또는 다른 노드에서 시작한) 세션이면 등록하지 않고 만들어서 돌려준다.
+    public SessionTopics get(String roomId, String sessionId) {
+        SessionTopics sessionTopics = topics.get(sessionId);
+        return sessionTopics != null ? sessionTopics : SessionTopics.of(roomId, sessionId);
+    }
+
+    public void close(String sessionId) {
+        topics.remove(sessionId);
+    }
+
+    public int size() {
+        return topics.size();
+    }
+}
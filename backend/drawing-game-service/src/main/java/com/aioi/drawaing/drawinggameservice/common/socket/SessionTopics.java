@@ -0,0 +1,20 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+// 한 게임 세션이 쓰는 목적지. 세션을 시작할 때 한 번 만들고, 매초/매 프레임 보낼 때는 그대로 꺼내 쓴다.
+public record SessionTopics(String timer, String draw, String drawBinary, String roundResult, String result,
+                            String chat, String info, String guess) {
+
+    public static SessionTopics of(String roomId, String sessionId) {
+        String suffix = "/" + roomId + "/" + sessionId;
+        return new SessionTopics(
+                "/topic/session.timer" + suffix,
+                "/topic/session.draw" + suffix,
+                "/topic/session.draw.bin" + suffix,
+                "/topic/session.round-result" + suffix,
+                "/topic/session.result" + suffix,
+                "/topic/chat.message" + suffix,
+                "/topic/session.info" + suffix,
+                "/topic/session.guess" + suffix
+        );
+    }
+}
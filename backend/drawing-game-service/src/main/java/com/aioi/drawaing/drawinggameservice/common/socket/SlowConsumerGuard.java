@@ -0,0 +1,184 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 느린 클라이언트 보호.
+ * clientOutboundChannel 에 들어온 MESSAGE 프레임 수와 실제로 소켓에 쓴 수의 차이(밀린 프레임)를 세션별로 센다.
+ * 밀린 프레임이 pending-limit 을 넘으면 그림/타이머처럼 다음 프레임이 대신할 수 있는 목적지는 버리고,
+ * 채팅/라운드 결과 같은 나머지 목적지는 그대로 보낸다.
+ * 그래도 버퍼가 send-buffer-size-limit 이나 send-time-limit 을 넘으면 스프링이 세션을 끊는다.
+ */
+@Slf4j
+@Component
+public class SlowConsumerGuard implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+    private static final byte[] MESSAGE_COMMAND = "MESSAGE\n".getBytes();
+
+    private final Map<String, ClientState> clients = new ConcurrentHashMap<>();
+    private final int pendingLimit;
+    private final List<String> droppablePrefixes;
+    private final MeterRegistry meterRegistry;
+    private final Counter throttled;
+    private final Counter slowDisconnected;
+
+    public SlowConsumerGuard(MeterRegistry meterRegistry,
+                             @Value("${game.websocket.pending-limit:256}") int pendingLimit,
+                             @Value("${game.websocket.droppable-prefixes:/topic/session.draw,/topic/session.timer}") List<String> droppablePrefixes) {
+        this.meterRegistry = meterRegistry;
+        this.pendingLimit = pendingLimit;
+        this.droppablePrefixes = droppablePrefixes;
+        this.throttled = Counter.builder("websocket.client.throttled").register(meterRegistry);
+        this.slowDisconnected = Counter.builder("websocket.client.slow-disconnected").register(meterRegistry);
+        Gauge.builder("websocket.client.pending.max", clients, this::maxPending).register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        ClientState state = clients.get(accessor.getSessionId());
+        if (state == null) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        if (state.pending.get() >= pendingLimit && isDroppable(destination)) {
+            if (!state.throttled) {
+                state.throttled = true;
+                throttled.increment();
+                log.warn("느린 클라이언트의 프레임을 버리기 시작합니다: {}", accessor.getSessionId());
+            }
+            meterRegistry.counter("websocket.outbound.dropped", "destination", destinationKind(destination)).increment();
+            return null;
+        }
+        state.pending.incrementAndGet();
+        return message;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                ClientState state = new ClientState();
+                clients.put(session.getId(), state);
+                super.afterConnectionEstablished(new CountingSession(session, state));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                clients.remove(session.getId());
+                // 버퍼/시간 제한을 넘겨 스프링이 끊은 경우
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    slowDisconnected.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    int pending(String sessionId) {
+        ClientState state = clients.get(sessionId);
+        return state == null ? 0 : state.pending.get();
+    }
+
+    private boolean isDroppable(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String prefix : droppablePrefixes) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 태그 수가 방 개수만큼 늘지 않도록 roomId 앞까지만 쓴다.
+    private String destinationKind(String destination) {
+        int end = destination.indexOf('/', "/topic/".length());
+        return end == -1 ? destination : destination.substring(0, end);
+    }
+
+    private double maxPending(Map<String, ClientState> clients) {
+        int max = 0;
+        for (ClientState state : clients.values()) {
+            max = Math.max(max, state.pending.get());
+        }
+        return max;
+    }
+
+    private final class ClientState {
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean throttled;
+
+        private void sent() {
+            int remaining = pending.updateAndGet(count -> Math.max(0, count - 1));
+            if (throttled && remaining < pendingLimit / 2) {
+                throttled = false;
+            }
+        }
+    }
+
+    // 실제로 소켓에 쓴 MESSAGE 프레임만큼 밀린 수를 줄인다.
+    private static final class CountingSession extends WebSocketSessionDecorator {
+        private final ClientState state;
+
+        private CountingSession(WebSocketSession session, ClientState state) {
+            super(session);
+            this.state = state;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                if (isMessageFrame(message)) {
+                    state.sent();
+                }
+            }
+        }
+
+        private boolean isMessageFrame(WebSocketMessage<?> message) {
+            if (message instanceof TextMessage textMessage) {
+                return textMessage.getPayload().startsWith("MESSAGE\n");
+            }
+            if (message.getPayload() instanceof ByteBuffer buffer && buffer.remaining() >= MESSAGE_COMMAND.length) {
+                for (int i = 0; i < MESSAGE_COMMAND.length; i++) {
+                    if (buffer.get(buffer.position() + i) != MESSAGE_COMMAND[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
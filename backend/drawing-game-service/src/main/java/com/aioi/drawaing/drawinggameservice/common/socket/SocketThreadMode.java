@@ -0,0 +1,10 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+// STOMP 인바운드/아웃바운드 메시지를 처리할 스레드
+public enum SocketThreadMode {
+    // 방마다 고정된 lane 스레드(인바운드)와 스프링 기본 스레드 풀(아웃바운드)
+    PLATFORM,
+    // 작업마다 가상 스레드를 쓰고 방(인바운드)/클라이언트(아웃바운드) 단위로만 순서를 맞춘다.
+    // Java 21 미만 런타임에서는 시작하지 않는다.
+    VIRTUAL
+}
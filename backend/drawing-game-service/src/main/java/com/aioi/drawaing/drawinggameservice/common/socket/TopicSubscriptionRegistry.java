@@ -0,0 +1,80 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 목적지별 구독자 수를 센다.
+ * 같은 데이터를 다른 포맷으로 보내야 하는지(구독자가 있는지) 판단할 때 쓴다.
+ */
+@Component
+public class TopicSubscriptionRegistry {
+    // socket sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> subscriberCounts = new ConcurrentHashMap<>();
+
+    @Value("${game.broker.mode:SIMPLE}")
+    private BrokerMode brokerMode = BrokerMode.SIMPLE;
+
+    @EventListener
+    public void handleSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null || destination == null) {
+            return;
+        }
+        String previous = sessionSubscriptions
+                .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.computeIfAbsent(destination, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @EventListener
+    public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Map<String, String> subscriptions = sessionSubscriptions.get(accessor.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    @EventListener
+    public void handleDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    // 다른 노드의 구독자는 알 수 없으므로 SIMPLE 이 아니면 항상 있다고 본다.
+    public boolean hasSubscribers(String destination) {
+        if (brokerMode != BrokerMode.SIMPLE) {
+            return true;
+        }
+        AtomicInteger count = subscriberCounts.get(destination);
+        return count != null && count.get() > 0;
+    }
+
+    private void decrement(String destination) {
+        subscriberCounts.computeIfPresent(destination, (key, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+}
@@ -0,0 +1,39 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 작업마다 가상 스레드를 쓰는 executor 를 만든다.
+ * 빌드 툴체인은 Java 17 이라 가상 스레드 API 를 직접 부를 수 없으므로, Java 21 이상에서 실행할 때 리플렉션으로 쓴다.
+ * 그 미만 런타임에서는 플랫폼 스레드로 대신하지 않고 시작을 막는다. (막힌 작업마다 스레드가 무한히 늘어나므로)
+ */
+final class VirtualThreads {
+    private static final int MIN_FEATURE_VERSION = 21;
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return Runtime.version().feature() >= MIN_FEATURE_VERSION;
+    }
+
+    static ExecutorService newPerTaskExecutor(String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("game.socket.thread-mode=VIRTUAL 은 Java " + MIN_FEATURE_VERSION
+                    + " 이상에서만 쓸 수 있습니다. 현재 런타임: Java " + Runtime.version().feature());
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) perTask.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 executor 를 만들지 못했습니다: " + prefix, e);
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package com.aioi.drawaing.drawinggameservice.common.socket;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -17,6 +25,49 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private TaskScheduler messageBrokerTaskScheduler;
     private final StompAuthInterceptor stompAuthInterceptor;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final ObjectProvider<KafkaBrokerFanout> kafkaBrokerFanout;
+    private final SlowConsumerGuard slowConsumerGuard;
+    private final ClientOutboundExecutor clientOutboundExecutor;
+
+    @Value("${game.websocket.send-time-limit-millis:5000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${game.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${game.websocket.message-size-limit:131072}")
+    private int messageSizeLimit;
+
+    @Value("${game.broker.mode:SIMPLE}")
+    private BrokerMode brokerMode;
+
+    @Value("${game.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${game.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${game.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${game.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    // simple broker 의 구독 조회를 목적지 해시 조회로 바꾼다. false 면 스프링 기본 저장소를 쓴다.
+    @Bean
+    public static BeanPostProcessor exactSubscriptionRegistryPostProcessor(
+            @Value("${game.broker.exact-subscriptions:true}") boolean exactSubscriptions) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (exactSubscriptions && bean instanceof SimpleBrokerMessageHandler handler) {
+                    handler.setSubscriptionRegistry(new ExactDestinationSubscriptionRegistry());
+                }
+                return bean;
+            }
+        };
+    }
 
     @Autowired
     public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler taskScheduler) {
@@ -29,17 +80,53 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOrigins("*");
     }
 
-//    @Override
-//    public void configureClientInboundChannel(ChannelRegistration registration) {
+    // 같은 방의 인바운드 메시지는 하나의 lane 에서 순서대로 처리한다. (game.socket.thread-mode=VIRTUAL 이면 방별 가상 스레드 대기열)
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // webSocketMessageBrokerStats 가 TaskExecutor 타입으로 주입받으므로 TaskExecutor 로 넘긴다.
+        registration.executor((TaskExecutor) roomLaneExecutor::execute);
 //        registration.interceptors(stompAuthInterceptor); // 👈 STOMP 인터셉터 등록
-//    }
+    }
+
+    // 느린 클라이언트: 버퍼/시간 제한을 넘으면 끊고, 그 전에 버려도 되는 프레임부터 버린다.
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(slowConsumerGuard);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(slowConsumerGuard);
+        if (clientOutboundExecutor.isEnabled()) {
+            registration.executor((TaskExecutor) clientOutboundExecutor::execute);
+        }
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic", "/queue")
-                .setHeartbeatValue(new long[]{30000, 30000})
-                .setTaskScheduler(messageBrokerTaskScheduler)
-        ; //subscription과 broadcasting, route message에 쓰인다.
+        if (brokerMode == BrokerMode.RELAY) {
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(30000)
+                    .setSystemHeartbeatReceiveInterval(30000);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{30000, 30000})
+                    .setTaskScheduler(messageBrokerTaskScheduler)
+            ; //subscription과 broadcasting, route message에 쓰인다.
+        }
+        if (brokerMode == BrokerMode.KAFKA) {
+            // 로컬 broker 로 가는 /topic 메시지를 다른 노드에도 퍼뜨린다.
+            registry.configureBrokerChannel().interceptors(kafkaBrokerFanout.getObject());
+        }
         registry.setApplicationDestinationPrefixes("/app"); //message mapping에서 이것과 함께 쓰인다.
     }
 }
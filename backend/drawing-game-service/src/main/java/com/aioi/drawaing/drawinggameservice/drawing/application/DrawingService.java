@@ -1,13 +1,24 @@
 package com.aioi.drawaing.drawinggameservice.drawing.application;
 
+import com.aioi.drawaing.drawinggameservice.common.socket.RoomLaneExecutor;
+import com.aioi.drawaing.drawinggameservice.common.socket.SessionTopicRegistry;
+import com.aioi.drawaing.drawinggameservice.common.socket.SessionTopics;
 import com.aioi.drawaing.drawinggameservice.drawing.application.dto.RoundInfo;
 import com.aioi.drawaing.drawinggameservice.drawing.application.dto.RoundResult;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.SessionSnapshot;
 import com.aioi.drawaing.drawinggameservice.drawing.application.dto.Timer;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.TimerEpoch;
+import com.aioi.drawaing.drawinggameservice.drawing.application.answer.AnswerJudge;
+import com.aioi.drawaing.drawinggameservice.drawing.application.guess.AiGuesser;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeAggregator;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeBatch;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeCodec;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeStage;
 import com.aioi.drawaing.drawinggameservice.drawing.domain.*;
 import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.KafkaProvider;
-import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.KeywordRepository;
-import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.SessionRepository;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.SessionStateStore;
 import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.feign.AuthServiceClient;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording.SessionRecorder;
 import com.aioi.drawaing.drawinggameservice.drawing.presentation.DrawMessagePublisher;
 import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.AddSessionParticipantInfo;
 import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.DrawInfo;
@@ -15,27 +26,31 @@ import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.WinParticip
 import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DrawingService {
     private final DrawMessagePublisher drawMessagePublisher;
-    private final Map<String, AtomicInteger> remainTime=new ConcurrentHashMap<>();; //type(session, draw)+sessionId
-    private final Map<String, ScheduledFuture<?>> scheduledFutures=new ConcurrentHashMap<>(); //type(session, draw)+sessionId
-    private final ScheduledExecutorService schedule;
-    private final KeywordRepository keywordRepository;
-    private final SessionRepository sessionRepository;
+    private final GameClock gameClock;
+    private final StrokeAggregator strokeAggregator;
+    private final List<StrokeStage> strokeStages;
+    private final KeywordPool keywordPool;
+    private final SessionStateStore sessionStateStore;
     private final KafkaProvider kafkaProvider;
     private final AuthServiceClient authServiceClient;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final SessionRecorder sessionRecorder;
+    private final AiGuesser aiGuesser;
+    private final AnswerJudge answerJudge;
+    private final SessionTopicRegistry sessionTopicRegistry;
+    @Value("${game.clock.timer-mode:TICK}")
+    private TimerMode timerMode = TimerMode.TICK;
     private final int DEFAULT_WORD_COUNT = 30;
     private final int DEFAULT_SESSION_TIMER = 10; //600;
     private final int DEFAULT_DRAW_TIMER = 20;
@@ -48,21 +63,42 @@ public class DrawingService {
     public void startSession(String roomId, String sessionId, List<AddRoomParticipantInfo> addParticipantInfos) {
         List<String> words = extractWords(DEFAULT_WORD_COUNT);
         log.info("startSession: {}", sessionId);
-        Session session = findSession(sessionId);
-
-        session.updateSessionStartInfo(words, addParticipantInfos);
-        sessionRepository.save(session);
+        SessionTopics topics = sessionTopicRegistry.open(roomId, sessionId);
+        Session session = sessionStateStore.start(sessionId, words, addParticipantInfos);
+        sessionRecorder.recordSessionStart(sessionId, words);
+        startRound(roomId, sessionId, session);
         startTimers(roomId, sessionId, DEFAULT_SESSION_TIMER, DEFAULT_DRAW_TIMER);
-        drawMessagePublisher.publishRoundInfo("/topic/session.info/"+roomId+"/"+sessionId, new RoundInfo(words, session.getParticipants()));
+        drawMessagePublisher.publishRoundInfo(topics.info(), new RoundInfo(words, session.getParticipants()));
     }
 
     public Session createSession(String roomId) {
-        Session session = Session.createSession(roomId);
-        return sessionRepository.save(session);
+        return sessionStateStore.create(roomId);
+    }
+
+    // 방이 지워져 시작하지 못한 세션을 정리한다.
+    public void discardSession(String sessionId) {
+        if (sessionId != null) {
+            sessionStateStore.discard(sessionId);
+        }
     }
 
     public void sendDraw(String roomId, String sessionId, HashMap<Long, List<DrawInfo>> drawInfo){
-        drawMessagePublisher.publishDraw("/topic/session.draw/" + roomId + "/" + sessionId, drawInfo);
+        StrokeBatch batch = StrokeBatch.from(drawInfo);
+        for (StrokeStage strokeStage : strokeStages) {
+            batch = strokeStage.apply(roomId, sessionId, batch);
+        }
+        if (batch.memberCount() > 0) {
+            answerJudge.onDraw(sessionId, batch.memberId(0));
+        }
+        strokeAggregator.append(roomId, sessionId, batch);
+    }
+
+    // 바이너리 클라이언트가 보낸 stroke 는 풀지 않고 그대로 모아서 중계한다.
+    // (단순화 같은 StrokeStage 는 클라이언트에서 이미 적용했다고 보고 건너뛴다.)
+    public void sendEncodedDraw(String roomId, String sessionId, byte[] payload){
+        StrokeCodec.validate(payload);
+        answerJudge.onEncodedDraw(sessionId, payload);
+        strokeAggregator.appendEncoded(roomId, sessionId, payload);
     }
 
 //    private void startTimers(String roomId, String sessionId) {
@@ -72,14 +108,7 @@ public class DrawingService {
 
     //게임 제시어 뽑기
     public List<String> extractWords(int count) {
-        List<Keyword> keywords = keywordRepository.findAll();
-        return ThreadLocalRandom.current()
-                .ints(0, keywords.size())
-                .distinct()
-                .limit(Math.min(count, keywords.size()))
-                .mapToObj(keywords::get)
-                .map(Keyword::getKeyword)
-                .collect(Collectors.toList());
+        return keywordPool.sample(count);
     }
 
 //    public void increaseRound(String sessionId){
@@ -89,44 +118,67 @@ public class DrawingService {
 //    }
 
     public void startTimers(String roomId, String sessionId, int sessionInitTime, int drawInitTime){
-        String sessionKey = getKey(TimeType.SESSION, sessionId);
-        String drawKey = getKey(TimeType.DRAWING, sessionId);
-
-        remainTime.put(sessionKey, new AtomicInteger(sessionInitTime));
-        remainTime.put(drawKey, new AtomicInteger(drawInitTime));
-
-        ScheduledFuture<?> scheduledFuture = schedule.scheduleAtFixedRate(()->{
-            int sessionTime = remainTime.get(sessionKey).decrementAndGet();
-            int drawTime = remainTime.get(drawKey).decrementAndGet();
-
-            log.info("sessionTime: {} drawTime: {}", sessionTime, drawTime);
-
-            if(sessionTime<=0){
-                remainTime.remove(sessionKey);
-                endSession(roomId, sessionId);
-                stopTimer(sessionKey);
-                stopTimer(drawKey);
+        gameClock.start(roomId, sessionId, sessionInitTime, drawInitTime, new GameClockListener() {
+            @Override
+            public void onTick(String roomId, String sessionId, int sessionTime, int drawTime) {
+                drawMessagePublisher.publishTimer(timerTopic(roomId, sessionId), new Timer(sessionTime, drawTime));
+            }
 
+            @Override
+            public void onSessionEnd(String roomId, String sessionId) {
+                if (timerMode == TimerMode.EPOCH) {
+                    drawMessagePublisher.publishTimerEpoch(timerTopic(roomId, sessionId),
+                            new TimerEpoch(TimerEpoch.END, 0, 0, System.currentTimeMillis(), 0, 0));
+                }
+                // 정답/오답 처리와 겹치지 않도록 방의 인바운드 lane 에서 종료한다.
+                roomLaneExecutor.execute(roomId, () -> endSession(roomId, sessionId));
             }
 
-            if(drawTime<=0){
-                remainTime.put(drawKey, new AtomicInteger(drawInitTime));
+            @Override
+            public void onDrawReset(String roomId, String sessionId) {
+                answerJudge.onDrawReset(sessionId);
+                publishTimerEpoch(roomId, sessionId, TimerEpoch.RESET);
             }
 
-            drawMessagePublisher.publishTimer("/topic/session.timer/"+roomId+"/"+sessionId, new Timer(sessionTime, drawTime));
+            @Override
+            public boolean wantsTicks() {
+                return timerMode == TimerMode.TICK;
+            }
+        });
+        publishTimerEpoch(roomId, sessionId, TimerEpoch.START);
+    }
 
-        }, 0,1,TimeUnit.SECONDS);
+    // EPOCH 모드에서만 마감 시각을 보낸다. 클라이언트는 serverTime 으로 시계 차이를 보정해서 센다.
+    private void publishTimerEpoch(String roomId, String sessionId, String type) {
+        if (timerMode != TimerMode.EPOCH) {
+            return;
+        }
+        GameClock.ClockState state = gameClock.state(sessionId);
+        if (state == null) {
+            return;
+        }
+        drawMessagePublisher.publishTimerEpoch(timerTopic(roomId, sessionId), new TimerEpoch(type, state.sessionTime(),
+                state.drawTime(), System.currentTimeMillis(), state.sessionDeadlineMillis(), state.drawDeadlineMillis()));
+    }
 
-        scheduledFutures.put(sessionKey, scheduledFuture);
+    private String timerTopic(String roomId, String sessionId) {
+        return sessionTopicRegistry.get(roomId, sessionId).timer();
     }
 
     public void resetDrawingTimer(String sessionId) {
-        String key = getKey(TimeType.DRAWING, sessionId);
-        remainTime.put(key, new AtomicInteger(DEFAULT_DRAW_TIMER));
+        gameClock.resetDrawing(sessionId);
+    }
+
+    public void stopTimer(String sessionId) {
+        gameClock.stop(sessionId);
     }
 
     private void endSession(String roomId, String sessionId){
-        Session session = findSession(sessionId);
+        strokeAggregator.close(sessionId);
+        aiGuesser.close(sessionId);
+        answerJudge.close(sessionId);
+        Session session = sessionStateStore.close(sessionId);
+        sessionRecorder.recordSessionEnd(sessionId);
         kafkaProvider.sendGameEvent("game-result-events", session.getGameResults());
         log.info("endSession: {}", sessionId);
 
@@ -141,45 +193,77 @@ public class DrawingService {
 //            throw new RuntimeException(e);
 //        }
 
-        drawMessagePublisher.publishGameResult("/topic/session.result/"+roomId+"/"+sessionId, session.toParticipantScoreInfo());
+        drawMessagePublisher.publishGameResult(sessionTopicRegistry.get(roomId, sessionId).result(), session.toParticipantScoreInfo());
+        sessionTopicRegistry.close(sessionId);
     }
 
     private void addParticipant(Session session, AddSessionParticipantInfo addSessionParticipantInfo) {
         session.addParticipant(addSessionParticipantInfo.id(), Participant.createParticipant(addSessionParticipantInfo.nickname(), addSessionParticipantInfo.characterUrl()));
     }
 
-    public Session findSession(String sessionId) {
-        return sessionRepository.findById(sessionId).orElseThrow(()->new RuntimeException("session id가 잘못됐습니다."));
+    // 메모리의 세션/시계/캔버스로 스냅샷을 만든다. 방 lane 에서 호출되므로 정답 처리와 섞이지 않는다.
+    public SessionSnapshot snapshot(String sessionId) {
+        Session session = sessionStateStore.find(sessionId);
+        GameClock.ClockState clock = gameClock.state(sessionId);
+        byte[] canvas = strokeAggregator.snapshot(sessionId);
+        synchronized (session) {
+            return new SessionSnapshot(session.getRoundCount(), session.getHumanWin(), session.getWords(),
+                    session.getWordIdx(), session.getDrawIdx(), session.getParticipants(), session.toParticipantScoreInfo(),
+                    clock == null ? 0 : clock.sessionTime(), clock == null ? 0 : clock.drawTime(), System.currentTimeMillis(),
+                    clock == null ? 0 : clock.sessionDeadlineMillis(), clock == null ? 0 : clock.drawDeadlineMillis(), canvas);
+        }
     }
 
-    private String getKey(TimeType timeType, String sessionId) {
-        return timeType.name()+":"+sessionId;
+    public boolean decrementParticipantChanceCount(String sessionId, Long userId) {
+        return sessionStateStore.decrementChanceCount(sessionId, userId);
     }
 
-    private void stopTimer(String key){
-        scheduledFutures.get(key).cancel(true);
+    public Session findSession(String sessionId) {
+        return sessionStateStore.find(sessionId);
     }
 
     public void win(String roomId, String sessionId, WinParticipantInfo winParticipantInfo) {
-        Session session = findSession(sessionId);
         int correctScore = plusCorrectScore(sessionId, winParticipantInfo.drawingOrder());
         int drawScore = plusDrawScore(winParticipantInfo.drawingOrder());
 //        System.out.println(correctScore+" "+drawScore);
-        session.win(winParticipantInfo, correctScore, drawScore);
+        Session session = sessionStateStore.win(sessionId, winParticipantInfo, correctScore, drawScore);
+        sessionRecorder.recordRound(sessionId, true, session.getRoundCount());
+        startRound(roomId, sessionId, session);
 //        System.out.println(session.getHumanWin());
-        sessionRepository.save(session);
-        drawMessagePublisher.publishRoundResult("/topic/session.round-result/"+roomId+"/"+sessionId, new RoundResult(true, session.getRoundCount()));
+        drawMessagePublisher.publishRoundResult(sessionTopicRegistry.get(roomId, sessionId).roundResult(), new RoundResult(true, session.getRoundCount()));
     }
 
-    public void saveSession(Session session) {
-        sessionRepository.save(session);
+    public void lose(String roomId, String sessionId){
+        Session session = sessionStateStore.lose(sessionId);
+        sessionRecorder.recordRound(sessionId, false, session.getRoundCount());
+        startRound(roomId, sessionId, session);
+        drawMessagePublisher.publishRoundResult(sessionTopicRegistry.get(roomId, sessionId).roundResult(), new RoundResult(false, session.getRoundCount()));
     }
 
-    public void lose(String roomId, String sessionId){
-        Session session = findSession(sessionId);
-        session.incrementRoundCount();
-        sessionRepository.save(session);
-        drawMessagePublisher.publishRoundResult("/topic/session.round-result/"+roomId+"/"+sessionId, new RoundResult(false, session.getRoundCount()));
+    // 채팅으로 들어온 추측을 서버에서 판정하고, 맞혔으면 그 자리에서 정답 처리한다.
+    public boolean judgeAnswer(String roomId, String sessionId, Long userId, String message) {
+        AnswerJudge.Verdict verdict = answerJudge.judge(sessionId, userId, message);
+        if (verdict == null) {
+            return false;
+        }
+        win(roomId, sessionId, new WinParticipantInfo(verdict.drawingMemberId(), userId, verdict.drawingOrder()));
+        return true;
+    }
+
+    public boolean judgesAnswers() {
+        return answerJudge.isEnabled();
+    }
+
+    private void startRound(String roomId, String sessionId, Session session) {
+        String quizWord = quizWord(session);
+        aiGuesser.startRound(roomId, sessionId, quizWord);
+        answerJudge.startRound(sessionId, quizWord);
+    }
+
+    // 클라이언트와 같이 지금까지 진행한 라운드 수를 제시어 순번으로 쓴다.
+    private String quizWord(Session session) {
+        List<String> words = session.getWords();
+        return words == null || words.isEmpty() ? null : words.get(session.getRoundCount() % words.size());
     }
 
     private int plusDrawScore(int drawingOrder) {
@@ -188,7 +272,7 @@ public class DrawingService {
 
     private int plusCorrectScore(String sessionId, int drawingOrder) {
         int totalRoundTime=DEFAULT_DRAW_TIMER*3;
-        int roundTime=remainTime.get(getKey(TimeType.DRAWING, sessionId)).get()+DEFAULT_DRAW_TIMER*drawingOrder;
+        int roundTime=gameClock.remainingDrawTime(sessionId)+DEFAULT_DRAW_TIMER*drawingOrder;
         return (totalRoundTime-roundTime)/3;
     }
 }
@@ -0,0 +1,238 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application;
+
+import com.aioi.drawaing.drawinggameservice.common.schedule.HashedTimingWheel;
+import com.aioi.drawaing.drawinggameservice.common.schedule.HashedTimingWheel.WheelTimeout;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 세션 전체 시간과 그림 시간을 하나의 타이밍 휠 위에서 1초 단위로 줄여 나간다.
+ * 카운트다운은 휠 스레드에서 처리하고, 리스너 콜백은 틱마다 모아 CALLBACK_BATCH_SIZE 개씩 executor 로 넘긴다.
+ * (세션마다 executor 작업을 하나씩 만들면 세션 수만큼 초당 작업이 executor 큐를 지나간다.)
+ * 대기방에서 게임으로 넘어가는 지연 시작도 같은 휠에 예약한다.
+ */
+@Slf4j
+@Component
+public class GameClock {
+    private static final int CALLBACK_BATCH_SIZE = 256;
+
+    private final HashedTimingWheel gameClockWheel;
+    private final ScheduledExecutorService schedule;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SessionClock> clocks = new ConcurrentHashMap<>();
+    // roomId -> 대기방에서 게임으로 넘어가는 예약
+    private final Map<String, WheelTimeout> transitions = new ConcurrentHashMap<>();
+    // 이번 틱에 만료된 세션들의 리스너 콜백. 휠 스레드만 쓴다.
+    private List<Runnable> pendingCallbacks = new ArrayList<>();
+
+    public GameClock(HashedTimingWheel gameClockWheel, ScheduledExecutorService schedule, MeterRegistry meterRegistry) {
+        this.gameClockWheel = gameClockWheel;
+        this.schedule = schedule;
+        this.meterRegistry = meterRegistry;
+        gameClockWheel.addTickListener(this::dispatchCallbacks);
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("game.clock.active", clocks, Map::size).register(meterRegistry);
+        Gauge.builder("game.transition.pending", transitions, Map::size).register(meterRegistry);
+    }
+
+    public void start(String roomId, String sessionId, int sessionInitTime, int drawInitTime, GameClockListener listener) {
+        SessionClock clock = new SessionClock(roomId, sessionId, sessionInitTime, drawInitTime, listener);
+        SessionClock previous = clocks.put(sessionId, clock);
+        if (previous != null) {
+            previous.cancel();
+        }
+        clock.schedule(0);
+    }
+
+    public void resetDrawing(String sessionId) {
+        SessionClock clock = clocks.get(sessionId);
+        if (clock != null) {
+            clock.resetDrawing();
+            clock.listener.onDrawReset(clock.roomId, sessionId);
+        }
+    }
+
+    // 남은 시간과 절대 마감 시각(epoch millis). 진행 중인 시계가 없으면 null.
+    public ClockState state(String sessionId) {
+        SessionClock clock = clocks.get(sessionId);
+        if (clock == null) {
+            return null;
+        }
+        return new ClockState(clock.sessionTime, clock.drawTime.get(), clock.sessionDeadlineMillis, clock.drawDeadlineMillis);
+    }
+
+    public int remainingDrawTime(String sessionId) {
+        SessionClock clock = clocks.get(sessionId);
+        if (clock == null) {
+            throw new IllegalStateException("진행 중인 세션 타이머가 없습니다: " + sessionId);
+        }
+        return clock.drawTime.get();
+    }
+
+    public void stop(String sessionId) {
+        SessionClock clock = clocks.remove(sessionId);
+        if (clock != null) {
+            clock.cancel();
+        }
+    }
+
+    public record ClockState(int sessionTime, int drawTime, long sessionDeadlineMillis, long drawDeadlineMillis) {
+    }
+
+    public int activeClockCount() {
+        return clocks.size();
+    }
+
+    // 방마다 하나의 전환만 예약한다. 휠 스레드를 막지 않도록 작업은 executor 에서 실행한다.
+    public void scheduleTransition(String roomId, long delaySeconds, Runnable task) {
+        WheelTimeout[] holder = new WheelTimeout[1];
+        holder[0] = gameClockWheel.newTimeout(() -> {
+            if (transitions.remove(roomId, holder[0])) {
+                schedule.execute(task);
+            }
+        }, delaySeconds, TimeUnit.SECONDS);
+        WheelTimeout previous = transitions.put(roomId, holder[0]);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    // 휠 스레드에서 틱이 끝날 때 호출된다.
+    private void dispatchCallbacks() {
+        if (pendingCallbacks.isEmpty()) {
+            return;
+        }
+        List<Runnable> callbacks = pendingCallbacks;
+        pendingCallbacks = new ArrayList<>();
+        for (int from = 0; from < callbacks.size(); from += CALLBACK_BATCH_SIZE) {
+            List<Runnable> batch = callbacks.subList(from, Math.min(from + CALLBACK_BATCH_SIZE, callbacks.size()));
+            schedule.execute(() -> runAll(batch));
+        }
+    }
+
+    private static void runAll(List<Runnable> callbacks) {
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                log.error("게임 시계 콜백 처리 중 예외가 발생했습니다.", e);
+            }
+        }
+    }
+
+    public boolean cancelTransition(String roomId) {
+        WheelTimeout timeout = transitions.remove(roomId);
+        if (timeout == null) {
+            return false;
+        }
+        meterRegistry.counter("game.transition.cancelled").increment();
+        return timeout.cancel();
+    }
+
+    public int pendingTransitionCount() {
+        return transitions.size();
+    }
+
+    private final class SessionClock implements Runnable {
+        private final String roomId;
+        private final String sessionId;
+        private final int drawInitTime;
+        private final GameClockListener listener;
+        private volatile int sessionTime;
+        private final AtomicInteger drawTime;
+        private volatile WheelTimeout timeout;
+        private volatile boolean stopped;
+        private final long sessionDeadlineMillis;
+        private volatile long drawDeadlineMillis;
+        // 다음 run 이 예약된 시각(epoch millis)
+        private volatile long nextRunMillis;
+
+        private SessionClock(String roomId, String sessionId, int sessionInitTime, int drawInitTime, GameClockListener listener) {
+            this.roomId = roomId;
+            this.sessionId = sessionId;
+            this.sessionTime = sessionInitTime;
+            this.drawTime = new AtomicInteger(drawInitTime);
+            this.drawInitTime = drawInitTime;
+            this.listener = listener;
+            // 첫 run 은 시작하자마자(schedule(0)) 1초를 줄이므로 실제 만료는 시작 + (초기값 - 1)초다.
+            this.nextRunMillis = System.currentTimeMillis();
+            this.sessionDeadlineMillis = expiryAfterNextRun(sessionInitTime);
+            this.drawDeadlineMillis = expiryAfterNextRun(drawInitTime);
+        }
+
+        // 다음 run 에서 1 이 줄고 그 뒤 1초마다 줄어, 남은 값이 0 이 되는 run 의 시각
+        private long expiryAfterNextRun(int remaining) {
+            return nextRunMillis + TimeUnit.SECONDS.toMillis(Math.max(0, remaining - 1));
+        }
+
+        private void resetDrawing() {
+            drawTime.set(drawInitTime);
+            drawDeadlineMillis = expiryAfterNextRun(drawInitTime);
+        }
+
+        private void schedule(long delaySeconds) {
+            nextRunMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delaySeconds);
+            timeout = gameClockWheel.newTimeout(this, delaySeconds, TimeUnit.SECONDS);
+        }
+
+        private void cancel() {
+            stopped = true;
+            WheelTimeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        // 휠 스레드에서 1초마다 호출된다.
+        @Override
+        public void run() {
+            if (stopped) {
+                return;
+            }
+            int remainSessionTime = --sessionTime;
+            int remainDrawTime = drawTime.decrementAndGet();
+
+            if (remainSessionTime <= 0) {
+                clocks.remove(sessionId, this);
+                pendingCallbacks.add(() -> {
+                    listener.onSessionEnd(roomId, sessionId);
+                    if (listener.wantsTicks()) {
+                        listener.onTick(roomId, sessionId, remainSessionTime, remainDrawTime);
+                    }
+                });
+                return;
+            }
+
+            schedule(1);
+            boolean drawReset = remainDrawTime <= 0;
+            if (drawReset) {
+                resetDrawing();
+            }
+            if (drawReset || listener.wantsTicks()) {
+                // 같은 세션의 리셋과 tick 이 다른 스레드로 나뉘지 않도록 하나로 묶는다.
+                pendingCallbacks.add(() -> {
+                    if (drawReset) {
+                        listener.onDrawReset(roomId, sessionId);
+                    }
+                    if (listener.wantsTicks()) {
+                        listener.onTick(roomId, sessionId, remainSessionTime, remainDrawTime);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application;
+
+public interface GameClockListener {
+    void onTick(String roomId, String sessionId, int sessionTime, int drawTime);
+
+    void onSessionEnd(String roomId, String sessionId);
+
+    // 그림 시간이 다시 시작될 때(차례 종료 요청 또는 시간 만료)
+    default void onDrawReset(String roomId, String sessionId) {
+    }
+
+    // false 면 매초 onTick 을 호출하지 않는다.
+    default boolean wantsTicks() {
+        return true;
+    }
+}
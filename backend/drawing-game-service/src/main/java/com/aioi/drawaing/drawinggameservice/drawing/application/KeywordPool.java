@@ -0,0 +1,125 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Keyword;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.KeywordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * keywords 컬렉션을 애플리케이션이 뜬 뒤 메모리로 올려 두고 주기적으로 다시 읽는다.
+ * 세션 시작 시 제시어 뽑기는 Mongo 를 거치지 않는다.
+ * 시작할 때 Mongo 에 닿지 않아도 컨텍스트는 뜨고, 아직 한 번도 못 읽었으면 처음 뽑을 때 다시 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeywordPool {
+    private final KeywordRepository keywordRepository;
+    private final ScheduledExecutorService schedule;
+    // 스레드별 인덱스 배열. 부분 셔플 후에도 순열이므로 초기화 없이 재사용한다.
+    private final ThreadLocal<int[]> indexes = new ThreadLocal<>();
+    private volatile Pool pool = new Pool(new String[0], Map.of());
+    private volatile boolean loaded;
+
+    @Value("${game.keyword.refresh-interval-millis:300000}")
+    private long refreshIntervalMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (refreshIntervalMillis > 0) {
+            schedule.scheduleWithFixedDelay(this::refreshSafely, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            schedule.execute(this::refreshSafely);
+        }
+    }
+
+    // 제시어가 바뀐 직후 바로 반영하고 싶을 때도 호출한다.
+    public void refresh() {
+        List<Keyword> keywords = keywordRepository.findAll();
+        List<String> all = new ArrayList<>(keywords.size());
+        Map<String, List<String>> byCategory = new HashMap<>();
+        for (Keyword keyword : keywords) {
+            all.add(keyword.getKeyword());
+            if (keyword.getCategory() != null) {
+                byCategory.computeIfAbsent(keyword.getCategory(), c -> new ArrayList<>()).add(keyword.getKeyword());
+            }
+        }
+        Map<String, String[]> categories = new HashMap<>();
+        byCategory.forEach((category, words) -> categories.put(category, words.toArray(String[]::new)));
+        pool = new Pool(all.toArray(String[]::new), categories);
+        loaded = true;
+        log.info("keyword pool 을 갱신했습니다: {}개, 분류 {}개", all.size(), categories.size());
+    }
+
+    public List<String> sample(int count) {
+        return sample(current().all, count);
+    }
+
+    // 해당 분류의 풀이 없으면 전체 풀에서 뽑는다.
+    public List<String> sample(String category, int count) {
+        Pool current = current();
+        return sample(current.byCategory.getOrDefault(category, current.all), count);
+    }
+
+    public int size() {
+        return pool.all.length;
+    }
+
+    // 인덱스 배열 앞쪽 count 칸만 Fisher–Yates 로 섞는다.
+    private List<String> sample(String[] words, int count) {
+        int n = words.length;
+        int limit = Math.min(count, n);
+        int[] idx = indexes(n);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> picked = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = idx[i];
+            idx[i] = idx[j];
+            idx[j] = tmp;
+            picked.add(words[idx[i]]);
+        }
+        return picked;
+    }
+
+    private int[] indexes(int n) {
+        int[] idx = indexes.get();
+        if (idx == null || idx.length != n) {
+            idx = new int[n];
+            Arrays.setAll(idx, i -> i);
+            indexes.set(idx);
+        }
+        return idx;
+    }
+
+    private Pool current() {
+        if (!loaded) {
+            refreshSafely();
+        }
+        return pool;
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("keyword pool 갱신에 실패했습니다. 이전 풀을 계속 사용합니다.", e);
+        }
+    }
+
+    private record Pool(String[] all, Map<String, String[]> byCategory) {
+    }
+}
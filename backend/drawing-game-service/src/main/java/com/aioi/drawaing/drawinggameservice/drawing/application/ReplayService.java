@@ -0,0 +1,129 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application;
+
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.ReplayChat;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.ReplayRound;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeCodec;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording.SessionRecord;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording.SessionRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기록된 세션을 SSE 로 다시 흘려보낸다.
+ * speed 1 은 실제 속도, 2 는 2배속, 0 이하는 기다리지 않고 전부 보낸다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReplayService {
+    // 이보다 가까운 기록은 한 번에 보낸다.
+    private static final long MIN_GAP_MILLIS = 5;
+
+    private final SessionRecorder sessionRecorder;
+    private final ScheduledExecutorService schedule;
+
+    public SseEmitter replay(String sessionId, double speed) throws IOException {
+        List<SessionRecord> records = sessionRecorder.read(sessionId);
+        SseEmitter emitter = new SseEmitter(0L);
+        if (records.isEmpty()) {
+            emitter.complete();
+            return emitter;
+        }
+        ReplayTask task = new ReplayTask(emitter, records, speed);
+        emitter.onCompletion(task::cancel);
+        emitter.onTimeout(task::cancel);
+        schedule.execute(task);
+        return emitter;
+    }
+
+    public Path recordingPath(String sessionId) {
+        return sessionRecorder.path(sessionId);
+    }
+
+    private final class ReplayTask implements Runnable {
+        private final SseEmitter emitter;
+        private final List<SessionRecord> records;
+        private final double speed;
+        private final long baseMillis;
+        private int next;
+        private volatile boolean cancelled;
+
+        private ReplayTask(SseEmitter emitter, List<SessionRecord> records, double speed) {
+            this.emitter = emitter;
+            this.records = records;
+            this.speed = speed;
+            this.baseMillis = records.get(0).timestamp();
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                long delay;
+                do {
+                    send(records.get(next++));
+                    delay = next < records.size() ? delayUntilNext() : 0;
+                } while (next < records.size() && delay < MIN_GAP_MILLIS);
+                if (next >= records.size()) {
+                    emitter.complete();
+                    return;
+                }
+                schedule.schedule(this, delay, TimeUnit.MILLISECONDS);
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊은 경우
+                cancel();
+                log.debug("replay 전송을 중단합니다.", e);
+            }
+        }
+
+        private long delayUntilNext() {
+            if (speed <= 0) {
+                return 0;
+            }
+            long gap = records.get(next).timestamp() - records.get(next - 1).timestamp();
+            return (long) (gap / speed);
+        }
+
+        private void send(SessionRecord record) throws IOException {
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .id(String.valueOf(record.timestamp() - baseMillis))
+                    .name(record.type().name().toLowerCase());
+            emitter.send(event.data(payload(record)));
+        }
+
+        private Object payload(SessionRecord record) {
+            byte[] payload = record.payload();
+            return switch (record.type()) {
+                case SESSION_START -> Arrays.asList(new String(payload, StandardCharsets.UTF_8).split("\n"));
+                case STROKE -> StrokeCodec.decode(payload).toDrawInfo();
+                case CHAT -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(payload);
+                    long userId = buffer.getLong();
+                    yield new ReplayChat(userId, new String(payload, 8, payload.length - 8, StandardCharsets.UTF_8));
+                }
+                case ROUND -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(payload);
+                    yield new ReplayRound(buffer.get() == 1, buffer.getInt());
+                }
+                case SESSION_END -> "";
+            };
+        }
+    }
+}
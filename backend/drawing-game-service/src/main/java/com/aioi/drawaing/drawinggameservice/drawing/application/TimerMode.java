@@ -0,0 +1,9 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application;
+
+// 타이머를 클라이언트에 알리는 방식
+public enum TimerMode {
+    // 매초 남은 시간을 보낸다.
+    TICK,
+    // 시작/리셋/종료 때만 절대 마감 시각을 보내고, 클라이언트가 직접 센다.
+    EPOCH
+}
@@ -0,0 +1,108 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.answer;
+
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 채팅으로 들어온 추측을 서버에서 현재 제시어와 비교한다.
+ * 라운드마다 제시어 자모 배열을 미리 만들어 두고, 라운드당 첫 정답 한 번만 인정한다.
+ * 그림을 그리는 사람은 서버가 따로 알지 못하므로 이번 라운드에 마지막으로 stroke 를 보낸 멤버로 본다.
+ */
+@Component
+public class AnswerJudge {
+    private static final int MAX_DRAWING_ORDER = 3;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxDistance;
+    private final int minJamoForFuzzy;
+    private final Map<String, RoundState> rounds = new ConcurrentHashMap<>();
+
+    public AnswerJudge(MeterRegistry meterRegistry,
+                       @Value("${game.answer.server-judge:false}") boolean enabled,
+                       @Value("${game.answer.max-distance:1}") int maxDistance,
+                       @Value("${game.answer.min-jamo-for-fuzzy:6}") int minJamoForFuzzy) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.minJamoForFuzzy = minJamoForFuzzy;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void startRound(String sessionId, String word) {
+        if (enabled && word != null) {
+            rounds.put(sessionId, new RoundState(new RoundAnswer(word, maxDistance, minJamoForFuzzy)));
+        }
+    }
+
+    public void onDraw(String sessionId, long memberId) {
+        RoundState round = enabled ? rounds.get(sessionId) : null;
+        if (round != null) {
+            round.drawingMemberId = memberId;
+        }
+    }
+
+    public void onEncodedDraw(String sessionId, byte[] payload) {
+        if (enabled && rounds.containsKey(sessionId)) {
+            Long memberId = StrokeCodec.firstMemberId(payload);
+            if (memberId != null) {
+                onDraw(sessionId, memberId);
+            }
+        }
+    }
+
+    // 그림 차례가 바뀌면 점수 계산에 쓰는 그림 순서를 올린다.
+    public void onDrawReset(String sessionId) {
+        RoundState round = enabled ? rounds.get(sessionId) : null;
+        if (round != null && round.drawingOrder < MAX_DRAWING_ORDER) {
+            round.drawingOrder++;
+        }
+    }
+
+    // 맞혔으면 점수 계산에 필요한 그림 정보를, 아니면 null 을 돌려준다.
+    public Verdict judge(String sessionId, long userId, String message) {
+        RoundState round = enabled && message != null ? rounds.get(sessionId) : null;
+        if (round == null || round.solved.get()) {
+            return null;
+        }
+        long drawingMemberId = round.drawingMemberId;
+        // 아직 아무도 그리지 않았거나, 그리는 사람이 직접 쓴 채팅은 정답으로 보지 않는다.
+        if (drawingMemberId == RoundState.NO_DRAWER || drawingMemberId == userId) {
+            return null;
+        }
+        if (!round.answer.matches(message) || !round.solved.compareAndSet(false, true)) {
+            return null;
+        }
+        meterRegistry.counter("game.answer.correct").increment();
+        return new Verdict(drawingMemberId, round.drawingOrder);
+    }
+
+    public void close(String sessionId) {
+        rounds.remove(sessionId);
+    }
+
+    public record Verdict(long drawingMemberId, int drawingOrder) {
+    }
+
+    private static final class RoundState {
+        private static final long NO_DRAWER = Long.MIN_VALUE;
+
+        private final RoundAnswer answer;
+        private final AtomicBoolean solved = new AtomicBoolean();
+        private volatile long drawingMemberId = NO_DRAWER;
+        private volatile int drawingOrder = 1;
+
+        private RoundState(RoundAnswer answer) {
+            this.answer = answer;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.answer;
+
+/**
+ * 정답 비교용으로 문자열을 자모 코드 배열로 바꾼다.
+ * 공백과 문장 부호는 버리고, 영문은 소문자로, 한글 음절은 초성/중성/종성 자모로 나눈다.
+ * 따로 입력한 호환 자모(ㄱ, ㅏ 등)는 음절에서 나온 초성/중성과 같은 코드로 맞춘다.
+ */
+final class AnswerNormalizer {
+    private static final int SYLLABLE_BASE = 0xAC00;
+    private static final int SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+    private static final int CHOSEONG_BASE = 0x1100;
+    private static final int JUNGSEONG_BASE = 0x1161;
+    private static final int JONGSEONG_BASE = 0x11A7;
+    private static final int COMPAT_CONSONANT_FIRST = 0x3131;
+    private static final int COMPAT_VOWEL_FIRST = 0x314F;
+    private static final int COMPAT_VOWEL_LAST = 0x3163;
+    // 호환 자음(ㄱ~ㅎ) -> 초성 인덱스. 겹받침처럼 초성이 없는 자음은 -1 이라 호환 코드 그대로 쓴다.
+    private static final int[] COMPAT_TO_CHOSEONG = {
+            0, 1, -1, 2, -1, -1, 3, 4, 5, -1, -1, -1, -1, -1, -1, -1,
+            6, 7, 8, -1, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18
+    };
+
+    private AnswerNormalizer() {
+    }
+
+    // 자모 코드를 out 에 채우고 개수를 돌려준다. limit 개를 넘으면 더 보지 않고 limit + 1 을 돌려준다.
+    static int normalize(CharSequence text, int[] out, int limit) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_BASE;
+                int jong = index % JONGSEONG_COUNT;
+                if (count + (jong == 0 ? 2 : 3) > limit) {
+                    return limit + 1;
+                }
+                out[count++] = CHOSEONG_BASE + index / (JUNGSEONG_COUNT * JONGSEONG_COUNT);
+                out[count++] = JUNGSEONG_BASE + (index / JONGSEONG_COUNT) % JUNGSEONG_COUNT;
+                if (jong != 0) {
+                    out[count++] = JONGSEONG_BASE + jong;
+                }
+                continue;
+            }
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            if (count + 1 > limit) {
+                return limit + 1;
+            }
+            out[count++] = jamo(c);
+        }
+        return count;
+    }
+
+    private static int jamo(char c) {
+        if (c >= COMPAT_VOWEL_FIRST && c <= COMPAT_VOWEL_LAST) {
+            return JUNGSEONG_BASE + (c - COMPAT_VOWEL_FIRST);
+        }
+        if (c >= COMPAT_CONSONANT_FIRST && c < COMPAT_VOWEL_FIRST) {
+            int choseong = COMPAT_TO_CHOSEONG[c - COMPAT_CONSONANT_FIRST];
+            return choseong < 0 ? c : CHOSEONG_BASE + choseong;
+        }
+        return Character.toLowerCase(c);
+    }
+}
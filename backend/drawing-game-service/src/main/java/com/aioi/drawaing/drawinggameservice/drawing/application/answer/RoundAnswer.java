@@ -0,0 +1,96 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.answer;
+
+/**
+ * 한 라운드의 제시어를 미리 자모 배열로 바꿔 둔 것.
+ * matches 는 스레드별 작업 버퍼만 써서 추측 하나를 비교할 때 새 객체를 만들지 않는다.
+ */
+final class RoundAnswer {
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final int[] jamo;
+    private final int length;
+    private final int maxDistance;
+
+    RoundAnswer(String word, int maxDistance, int minJamoForFuzzy) {
+        int[] buffer = new int[word.length() * 3];
+        this.length = AnswerNormalizer.normalize(word, buffer, buffer.length);
+        this.jamo = buffer;
+        // 짧은 단어는 한 글자만 달라도 다른 단어가 되기 쉬워서 정확히 같을 때만 인정한다.
+        this.maxDistance = length >= minJamoForFuzzy ? maxDistance : 0;
+    }
+
+    boolean matches(CharSequence guess) {
+        if (length == 0) {
+            return false;
+        }
+        Scratch scratch = SCRATCH.get();
+        int limit = length + maxDistance;
+        int[] guessJamo = scratch.guess(limit + 1);
+        int guessLength = AnswerNormalizer.normalize(guess, guessJamo, limit);
+        if (Math.abs(guessLength - length) > maxDistance) {
+            return false;
+        }
+        if (maxDistance == 0) {
+            for (int i = 0; i < length; i++) {
+                if (guessJamo[i] != jamo[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return withinDistance(guessJamo, guessLength, scratch);
+    }
+
+    // 두 줄만 쓰는 편집 거리. 한 줄의 최솟값이 허용치를 넘으면 바로 멈춘다.
+    private boolean withinDistance(int[] guessJamo, int guessLength, Scratch scratch) {
+        int[] previous = scratch.previous(length + 1);
+        int[] current = scratch.current(length + 1);
+        for (int j = 0; j <= length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= guessLength; i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= length; j++) {
+                int cost = guessJamo[i - 1] == jamo[j - 1] ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[length] <= maxDistance;
+    }
+
+    private static final class Scratch {
+        private int[] guess = new int[64];
+        private int[] previous = new int[64];
+        private int[] current = new int[64];
+
+        private int[] guess(int size) {
+            if (guess.length < size) {
+                guess = new int[size * 2];
+            }
+            return guess;
+        }
+
+        private int[] previous(int size) {
+            if (previous.length < size) {
+                previous = new int[size * 2];
+            }
+            return previous;
+        }
+
+        private int[] current(int size) {
+            if (current.length < size) {
+                current = new int[size * 2];
+            }
+            return current;
+        }
+    }
+}
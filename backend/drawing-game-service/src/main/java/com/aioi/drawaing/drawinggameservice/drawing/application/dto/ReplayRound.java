@@ -0,0 +1,4 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.dto;
+
+public record ReplayRound(boolean correct, int roundCount) {
+}
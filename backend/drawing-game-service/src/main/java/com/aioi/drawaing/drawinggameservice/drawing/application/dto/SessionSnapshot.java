@@ -0,0 +1,25 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.dto;
+
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.ParticipantScoreInfo;
+
+import java.util.List;
+import java.util.Map;
+
+// 재접속한 클라이언트가 한 번에 화면을 복구하기 위한 세션 상태
+// canvas 는 StrokeCodec 프레임(JSON 에서는 base64)이고, 시계가 멈춘 뒤에는 시간 값이 0 이다.
+public record SessionSnapshot(
+        int roundCount,
+        int humanWin,
+        List<String> words,
+        int wordIdx,
+        int drawIdx,
+        List<Long> drawOrder,
+        Map<Long, ParticipantScoreInfo> scores,
+        int totalTime,
+        int drawTime,
+        long serverTime,
+        long sessionDeadline,
+        long drawDeadline,
+        byte[] canvas
+) {
+}
@@ -0,0 +1,8 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.dto;
+
+// totalTime, drawTime 은 이벤트 시점의 남은 초(기존 Timer 와 같은 필드), 마감 시각은 서버 epoch millis
+public record TimerEpoch(String type, int totalTime, int drawTime, long serverTime, long sessionDeadline, long drawDeadline) {
+    public static final String START = "START";
+    public static final String RESET = "RESET";
+    public static final String END = "END";
+}
@@ -0,0 +1,208 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.guess;
+
+import com.aioi.drawaing.drawinggameservice.common.socket.SessionTopics;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.AiGuess;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeBatch;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeCodec;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.ModelServerClient;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.response.PredictResponse;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.DrawMessagePublisher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버에서 바로 AI 추측을 돌린다. 세션마다 stroke 스트림을 모델 입력 크기로 그려 두고,
+ * 그리기가 debounce 시간만큼 멈추거나 max-wait 이 지나면 모델 서버에 보내 결과를 세션 토픽으로 보낸다.
+ * 세션당 요청은 한 번에 하나만 보내고, 응답을 기다리는 동안 들어온 stroke 는 다음 요청에 모은다.
+ */
+@Slf4j
+@Component
+public class AiGuesser {
+    private final ModelServerClient modelServerClient;
+    private final DrawMessagePublisher drawMessagePublisher;
+    private final ScheduledExecutorService schedule;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long debounceNanos;
+    private final long maxWaitNanos;
+    private final float canvasWidth;
+    private final float canvasHeight;
+    private final float lineWidth;
+    private final Map<String, GuessState> states = new ConcurrentHashMap<>();
+    private final Timer rasterTimer;
+
+    public AiGuesser(ModelServerClient modelServerClient, DrawMessagePublisher drawMessagePublisher,
+                     ScheduledExecutorService schedule, MeterRegistry meterRegistry,
+                     @Value("${game.guess.enabled:false}") boolean enabled,
+                     @Value("${game.guess.debounce-millis:400}") long debounceMillis,
+                     @Value("${game.guess.max-wait-millis:1500}") long maxWaitMillis,
+                     @Value("${game.guess.canvas-width:700}") float canvasWidth,
+                     @Value("${game.guess.canvas-height:400}") float canvasHeight,
+                     @Value("${game.guess.line-width:5}") float lineWidth) {
+        this.modelServerClient = modelServerClient;
+        this.drawMessagePublisher = drawMessagePublisher;
+        this.schedule = schedule;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.canvasWidth = canvasWidth;
+        this.canvasHeight = canvasHeight;
+        this.lineWidth = lineWidth;
+        this.rasterTimer = Timer.builder("drawing.guess.raster").register(meterRegistry);
+        Gauge.builder("drawing.guess.sessions", states, Map::size).register(meterRegistry);
+    }
+
+    // 새 라운드가 시작되면 캔버스를 비우고 제시어를 바꾼다. 이전 라운드의 늦은 응답은 버린다.
+    public void startRound(String roomId, String sessionId, String quizWord) {
+        if (!enabled) {
+            return;
+        }
+        GuessState state = states.computeIfAbsent(sessionId, id -> new GuessState(roomId, sessionId,
+                new StrokeRasterizer(StrokeRasterizer.MODEL_INPUT_SIZE, canvasWidth, canvasHeight, lineWidth)));
+        synchronized (state) {
+            state.round++;
+            state.quizWord = quizWord;
+            state.strokes.clear();
+            state.rasterizer.clear();
+            state.dirty = false;
+        }
+    }
+
+    public void onStroke(String sessionId, StrokeBatch batch) {
+        GuessState state = enabled ? states.get(sessionId) : null;
+        if (state == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        synchronized (state) {
+            for (int m = 0; m < batch.memberCount(); m++) {
+                state.draw(batch.memberId(m), batch.points(m));
+            }
+            state.lastStrokeNanos = System.nanoTime();
+            if (!state.dirty) {
+                state.dirty = true;
+                state.firstDirtyNanos = state.lastStrokeNanos;
+            }
+            if (!state.scheduled && !state.inFlight) {
+                scheduleCheck(state, debounceNanos);
+            }
+        }
+        rasterTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // 바이너리 프레임은 추측 중인 세션일 때만 푼다.
+    public void onEncodedStroke(String sessionId, byte[] payload) {
+        if (enabled && states.containsKey(sessionId)) {
+            onStroke(sessionId, StrokeCodec.decode(payload));
+        }
+    }
+
+    public void close(String sessionId) {
+        states.remove(sessionId);
+    }
+
+    private void scheduleCheck(GuessState state, long delayNanos) {
+        state.scheduled = true;
+        schedule.schedule(() -> check(state), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void check(GuessState state) {
+        byte[] png;
+        String quizWord;
+        int round;
+        synchronized (state) {
+            state.scheduled = false;
+            if (!state.dirty || state.inFlight || states.get(state.sessionId) != state) {
+                return;
+            }
+            long now = System.nanoTime();
+            long quiet = now - state.lastStrokeNanos;
+            long waited = now - state.firstDirtyNanos;
+            if (quiet < debounceNanos && waited < maxWaitNanos) {
+                scheduleCheck(state, Math.min(debounceNanos - quiet, maxWaitNanos - waited));
+                return;
+            }
+            state.dirty = false;
+            if (state.rasterizer.isBlank() || state.quizWord == null) {
+                return;
+            }
+            png = state.rasterizer.toPng();
+            quizWord = state.quizWord;
+            round = state.round;
+            state.inFlight = true;
+        }
+        long start = System.nanoTime();
+        modelServerClient.predict(png, quizWord).whenComplete((response, e) -> {
+            meterRegistry.timer("drawing.guess.latency", "result", e == null ? "ok" : "failed")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            onResponse(state, round, response, e);
+        });
+    }
+
+    private void onResponse(GuessState state, int round, PredictResponse response, Throwable e) {
+        boolean current;
+        synchronized (state) {
+            state.inFlight = false;
+            current = state.round == round && states.get(state.sessionId) == state;
+            if (current && state.dirty && !state.scheduled) {
+                scheduleCheck(state, debounceNanos);
+            }
+        }
+        if (e != null) {
+            // 실패 원인은 모델 서버 클라이언트가 batch 단위로 남긴다.
+            log.debug("AI 추측 요청에 실패했습니다: {} ({})", state.sessionId, e.getMessage());
+            return;
+        }
+        if (current) {
+            drawMessagePublisher.publishAiGuess(state.guessTopic,
+                    new AiGuess(response.result(), response.correct(), System.currentTimeMillis()));
+        }
+    }
+
+    static final class GuessState {
+        private final String sessionId;
+        private final String guessTopic;
+        private final StrokeRasterizer rasterizer;
+        // 한 멤버의 그림만 지울 때 나머지를 다시 그리기 위해 라운드 동안 좌표를 보관한다.
+        private final Map<Long, List<float[]>> strokes = new LinkedHashMap<>();
+        private String quizWord;
+        private int round;
+        private boolean dirty;
+        private boolean scheduled;
+        private boolean inFlight;
+        private long firstDirtyNanos;
+        private long lastStrokeNanos;
+
+        private GuessState(String roomId, String sessionId, StrokeRasterizer rasterizer) {
+            this.sessionId = sessionId;
+            this.guessTopic = SessionTopics.of(roomId, sessionId).guess();
+            this.rasterizer = rasterizer;
+        }
+
+        private void draw(long memberId, float[] coords) {
+            if (coords.length > 0) {
+                strokes.computeIfAbsent(memberId, id -> new ArrayList<>()).add(coords);
+                rasterizer.draw(coords);
+                return;
+            }
+            // 빈 목록은 그 멤버의 그림을 지우라는 뜻이다.
+            if (strokes.remove(memberId) != null) {
+                rasterizer.clear();
+                strokes.values().forEach(list -> list.forEach(rasterizer::draw));
+            }
+        }
+    }
+}
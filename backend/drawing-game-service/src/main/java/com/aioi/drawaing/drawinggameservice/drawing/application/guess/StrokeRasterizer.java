@@ -0,0 +1,123 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.guess;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 클라이언트 캔버스 좌표의 stroke 를 모델 입력 크기의 흑백 이미지로 바로 그린다.
+ * 픽셀은 힙 밖(direct buffer)에 한 줄씩 이어서 두고, 0 이 검정, 255 가 흰 배경이다.
+ * 브라우저처럼 점 사이를 둥근 끝 선으로 잇고, 선 가장자리는 픽셀 중심까지의 거리로 흐리게 칠한다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 잠근다.
+ */
+public final class StrokeRasterizer {
+    public static final int MODEL_INPUT_SIZE = 112;
+    private static final byte BACKGROUND = (byte) 0xFF;
+
+    private final int size;
+    private final float scaleX;
+    private final float scaleY;
+    private final float radius;
+    private final ByteBuffer pixels;
+    private boolean blank = true;
+
+    public StrokeRasterizer(int size, float canvasWidth, float canvasHeight, float lineWidth) {
+        this.size = size;
+        this.scaleX = size / canvasWidth;
+        this.scaleY = size / canvasHeight;
+        // 가로, 세로 축척이 다르므로 평균 축척으로 선 두께를 줄인다. 너무 가늘면 사라지므로 반 픽셀은 남긴다.
+        this.radius = Math.max(0.5f, lineWidth / 2 * (scaleX + scaleY) / 2);
+        this.pixels = ByteBuffer.allocateDirect(size * size);
+        clear();
+    }
+
+    // x, y 가 번갈아 들어 있는 한 묶음을 이어서 그린다.
+    public void draw(float[] coords) {
+        int count = coords.length / 2;
+        if (count == 0) {
+            return;
+        }
+        float prevX = coords[0] * scaleX;
+        float prevY = coords[1] * scaleY;
+        if (count == 1) {
+            segment(prevX, prevY, prevX, prevY);
+        }
+        for (int i = 1; i < count; i++) {
+            float x = coords[i * 2] * scaleX;
+            float y = coords[i * 2 + 1] * scaleY;
+            segment(prevX, prevY, x, y);
+            prevX = x;
+            prevY = y;
+        }
+        blank = false;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size * size; i++) {
+            pixels.put(i, BACKGROUND);
+        }
+        blank = true;
+    }
+
+    public boolean isBlank() {
+        return blank;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int pixel(int x, int y) {
+        return pixels.get(y * size + x) & 0xFF;
+    }
+
+    // 모델 서버가 받는 이미지 업로드 형식으로 내보낸다.
+    public byte[] toPng() {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        pixels.get(0, data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * size / 4);
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // 두 점을 잇는 둥근 끝 선분을 선분 주변 사각형 안에서만 칠한다.
+    private void segment(float x0, float y0, float x1, float y1) {
+        int minX = Math.max(0, (int) Math.floor(Math.min(x0, x1) - radius - 1));
+        int maxX = Math.min(size - 1, (int) Math.ceil(Math.max(x0, x1) + radius + 1));
+        int minY = Math.max(0, (int) Math.floor(Math.min(y0, y1) - radius - 1));
+        int maxY = Math.min(size - 1, (int) Math.ceil(Math.max(y0, y1) + radius + 1));
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float lengthSq = dx * dx + dy * dy;
+        float reachSq = (radius + 0.5f) * (radius + 0.5f);
+        for (int py = minY; py <= maxY; py++) {
+            float cy = py + 0.5f;
+            int row = py * size;
+            for (int px = minX; px <= maxX; px++) {
+                float cx = px + 0.5f;
+                float t = lengthSq == 0 ? 0 : ((cx - x0) * dx + (cy - y0) * dy) / lengthSq;
+                t = Math.max(0, Math.min(1, t));
+                float ex = cx - (x0 + t * dx);
+                float ey = cy - (y0 + t * dy);
+                float distanceSq = ex * ex + ey * ey;
+                if (distanceSq >= reachSq) {
+                    continue;
+                }
+                float coverage = radius + 0.5f - (float) Math.sqrt(distanceSq);
+                int ink = 255 - Math.round(255 * Math.min(1, coverage));
+                if (ink < (pixels.get(row + px) & 0xFF)) {
+                    pixels.put(row + px, (byte) ink);
+                }
+            }
+        }
+    }
+}
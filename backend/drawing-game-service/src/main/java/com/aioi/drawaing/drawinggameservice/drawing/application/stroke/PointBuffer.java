@@ -0,0 +1,21 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import java.util.Arrays;
+
+// 멤버 한 명의 좌표를 이어 붙이는 float 배열
+final class PointBuffer {
+    private float[] coords = new float[64];
+    private int size;
+
+    void add(float[] source) {
+        if (size + source.length > coords.length) {
+            coords = Arrays.copyOf(coords, Math.max(coords.length * 2, size + source.length));
+        }
+        System.arraycopy(source, 0, coords, size, source.length);
+        size += source.length;
+    }
+
+    float[] toArray() {
+        return Arrays.copyOf(coords, size);
+    }
+}
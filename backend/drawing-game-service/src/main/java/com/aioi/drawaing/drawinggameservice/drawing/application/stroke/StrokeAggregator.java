@@ -0,0 +1,219 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import com.aioi.drawaing.drawinggameservice.common.socket.SessionTopicRegistry;
+import com.aioi.drawaing.drawinggameservice.common.socket.SessionTopics;
+import com.aioi.drawaing.drawinggameservice.common.socket.TopicSubscriptionRegistry;
+import com.aioi.drawaing.drawinggameservice.drawing.application.guess.AiGuesser;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording.SessionRecorder;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.DrawMessagePublisher;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션별로 들어오는 stroke 조각을 모아 두었다가 flush 주기마다 한 프레임으로 보낸다.
+ * 버퍼가 max-buffered-points 를 넘으면 주기를 기다리지 않고 바로 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StrokeAggregator {
+    private final DrawMessagePublisher drawMessagePublisher;
+    private final TopicSubscriptionRegistry topicSubscriptionRegistry;
+    private final ScheduledExecutorService schedule;
+    private final SessionRecorder sessionRecorder;
+    private final AiGuesser aiGuesser;
+    private final SessionTopicRegistry sessionTopicRegistry;
+    private final Map<String, SessionStrokeBuffer> buffers = new ConcurrentHashMap<>();
+
+    @Value("${game.stroke.flush-interval-millis:30}")
+    private long flushIntervalMillis;
+
+    @Value("${game.stroke.max-buffered-points:2000}")
+    private int maxBufferedPoints;
+
+    @PostConstruct
+    public void startFlusher() {
+        if (flushIntervalMillis > 0) {
+            schedule.scheduleAtFixedRate(this::flushAll, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void append(String roomId, String sessionId, StrokeBatch batch) {
+        SessionStrokeBuffer buffer = buffer(roomId, sessionId);
+        if (batch.hasEmptyStroke()) {
+            // 지우기 신호는 앞선 stroke 와 합쳐지면 안 되므로 버퍼를 비우고 바로 보낸다.
+            synchronized (buffer) {
+                flush(buffer);
+                publish(buffer, batch);
+            }
+            return;
+        }
+        if (buffer.append(batch) >= maxBufferedPoints || flushIntervalMillis <= 0) {
+            flush(buffer);
+        }
+    }
+
+    public void appendEncoded(String roomId, String sessionId, byte[] payload) {
+        SessionStrokeBuffer buffer = buffer(roomId, sessionId);
+        if (buffer.appendEncoded(payload) >= maxBufferedPoints || flushIntervalMillis <= 0) {
+            flush(buffer);
+        }
+    }
+
+    // 세션이 끝나면 남은 stroke 를 보내고 버퍼를 정리한다.
+    public void close(String sessionId) {
+        SessionStrokeBuffer buffer = buffers.remove(sessionId);
+        if (buffer != null) {
+            flush(buffer);
+        }
+    }
+
+    private SessionStrokeBuffer buffer(String roomId, String sessionId) {
+        return buffers.computeIfAbsent(sessionId, id -> new SessionStrokeBuffer(sessionId, sessionTopicRegistry.get(roomId, sessionId)));
+    }
+
+    private void flushAll() {
+        for (SessionStrokeBuffer buffer : buffers.values()) {
+            try {
+                flush(buffer);
+            } catch (Exception e) {
+                log.error("stroke flush 에 실패했습니다: {}", buffer.sessionId, e);
+            }
+        }
+    }
+
+    // 주기 flush 와 초과 flush 가 겹쳐도 프레임 순서가 바뀌지 않도록 세션 잠금 안에서 보낸다.
+    private void flush(SessionStrokeBuffer buffer) {
+        synchronized (buffer) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            StrokeBatch batch = buffer.drainPoints();
+            List<byte[]> encodedFrames = buffer.drainEncoded();
+            if (batch != null) {
+                publish(buffer, batch);
+            }
+            if (encodedFrames != null) {
+                publishEncoded(buffer, encodedFrames);
+            }
+        }
+    }
+
+    // 재접속한 클라이언트에게 줄 현재 캔버스. 아직 보내지 않은 조각도 먼저 보내고 반영한다.
+    public byte[] snapshot(String sessionId) {
+        SessionStrokeBuffer buffer = buffers.get(sessionId);
+        if (buffer == null) {
+            return new StrokeCanvas().snapshot();
+        }
+        synchronized (buffer) {
+            flush(buffer);
+            return buffer.canvas.snapshot();
+        }
+    }
+
+    private void publish(SessionStrokeBuffer buffer, StrokeBatch batch) {
+        drawMessagePublisher.publishDraw(buffer.jsonTopic, batch.toDrawInfo());
+        byte[] encoded = StrokeCodec.encode(batch);
+        buffer.canvas.append(encoded);
+        sessionRecorder.recordStroke(buffer.sessionId, encoded);
+        aiGuesser.onStroke(buffer.sessionId, batch);
+        if (topicSubscriptionRegistry.hasSubscribers(buffer.binaryTopic)) {
+            drawMessagePublisher.publishEncodedDraw(buffer.binaryTopic, encoded);
+        }
+    }
+
+    private void publishEncoded(SessionStrokeBuffer buffer, List<byte[]> encodedFrames) {
+        byte[] merged = StrokeCodec.concat(encodedFrames);
+        buffer.canvas.append(merged);
+        sessionRecorder.recordStroke(buffer.sessionId, merged);
+        aiGuesser.onEncodedStroke(buffer.sessionId, merged);
+        drawMessagePublisher.publishEncodedDraw(buffer.binaryTopic, merged);
+        if (!topicSubscriptionRegistry.hasSubscribers(buffer.jsonTopic)) {
+            return;
+        }
+        StrokeBatch decoded = StrokeCodec.decode(merged);
+        if (!decoded.hasEmptyStroke()) {
+            drawMessagePublisher.publishDraw(buffer.jsonTopic, decoded.toDrawInfo());
+            return;
+        }
+        // JSON 포맷은 멤버당 목록 하나뿐이라 지우기 신호가 섞이면 원래 프레임 단위로 보낸다.
+        for (byte[] frame : encodedFrames) {
+            drawMessagePublisher.publishDraw(buffer.jsonTopic, StrokeCodec.decode(frame).toDrawInfo());
+        }
+    }
+
+    private static final class SessionStrokeBuffer {
+        private final String sessionId;
+        private final String jsonTopic;
+        private final String binaryTopic;
+        // JSON 으로 들어온 좌표는 멤버별 float 배열에 이어 붙인다.
+        private final Map<Long, PointBuffer> points = new LinkedHashMap<>();
+        // 바이너리로 들어온 프레임은 풀지 않고 모아 두었다가 이어 붙인다.
+        private List<byte[]> encodedFrames = new ArrayList<>();
+        private int bufferedPoints;
+        private final StrokeCanvas canvas = new StrokeCanvas();
+
+        private SessionStrokeBuffer(String sessionId, SessionTopics topics) {
+            this.sessionId = sessionId;
+            this.jsonTopic = topics.draw();
+            this.binaryTopic = topics.drawBinary();
+        }
+
+        private synchronized int append(StrokeBatch batch) {
+            for (int m = 0; m < batch.memberCount(); m++) {
+                float[] coords = batch.points(m);
+                points.computeIfAbsent(batch.memberId(m), id -> new PointBuffer()).add(coords);
+                bufferedPoints += coords.length / 2;
+            }
+            return bufferedPoints;
+        }
+
+        // 바이너리 프레임은 좌표 수 대신 바이트 길이로 버퍼 크기를 어림한다.
+        private synchronized int appendEncoded(byte[] payload) {
+            encodedFrames.add(payload);
+            bufferedPoints += payload.length / 2;
+            return bufferedPoints;
+        }
+
+        private boolean isEmpty() {
+            return bufferedPoints == 0 && points.isEmpty() && encodedFrames.isEmpty();
+        }
+
+        private StrokeBatch drainPoints() {
+            if (points.isEmpty()) {
+                return null;
+            }
+            long[] memberIds = new long[points.size()];
+            float[][] coords = new float[points.size()][];
+            int idx = 0;
+            for (Map.Entry<Long, PointBuffer> entry : points.entrySet()) {
+                memberIds[idx] = entry.getKey();
+                coords[idx++] = entry.getValue().toArray();
+            }
+            points.clear();
+            bufferedPoints = 0;
+            return new StrokeBatch(memberIds, coords);
+        }
+
+        private List<byte[]> drainEncoded() {
+            if (encodedFrames.isEmpty()) {
+                return null;
+            }
+            List<byte[]> drained = encodedFrames;
+            encodedFrames = new ArrayList<>();
+            bufferedPoints = 0;
+            return drained;
+        }
+    }
+}
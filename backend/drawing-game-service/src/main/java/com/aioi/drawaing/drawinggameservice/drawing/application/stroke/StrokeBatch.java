@@ -0,0 +1,103 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.DrawInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 번에 전달되는 멤버별 좌표 묶음.
+ * 좌표는 DrawInfo 객체 대신 x, y 가 번갈아 들어 있는 float 배열로 보관한다.
+ */
+public final class StrokeBatch {
+    private final long[] memberIds;
+    private final float[][] points;
+
+    public StrokeBatch(long[] memberIds, float[][] points) {
+        if (memberIds.length != points.length) {
+            throw new IllegalArgumentException("memberIds 와 points 의 길이가 다릅니다.");
+        }
+        this.memberIds = memberIds;
+        this.points = points;
+    }
+
+    public static StrokeBatch from(Map<Long, List<DrawInfo>> drawInfo) {
+        long[] memberIds = new long[drawInfo.size()];
+        float[][] points = new float[drawInfo.size()][];
+        int idx = 0;
+        for (Map.Entry<Long, List<DrawInfo>> entry : drawInfo.entrySet()) {
+            List<DrawInfo> infos = entry.getValue();
+            float[] coords = new float[infos.size() * 2];
+            for (int i = 0; i < infos.size(); i++) {
+                coords[i * 2] = infos.get(i).x();
+                coords[i * 2 + 1] = infos.get(i).y();
+            }
+            memberIds[idx] = entry.getKey();
+            points[idx++] = coords;
+        }
+        return new StrokeBatch(memberIds, points);
+    }
+
+    public static StrokeBatch concat(List<StrokeBatch> batches) {
+        int memberCount = 0;
+        for (StrokeBatch batch : batches) {
+            memberCount += batch.memberCount();
+        }
+        long[] memberIds = new long[memberCount];
+        float[][] points = new float[memberCount][];
+        int idx = 0;
+        for (StrokeBatch batch : batches) {
+            for (int m = 0; m < batch.memberCount(); m++) {
+                memberIds[idx] = batch.memberId(m);
+                points[idx++] = batch.points(m);
+            }
+        }
+        return new StrokeBatch(memberIds, points);
+    }
+
+    // 같은 멤버가 여러 번 나오면 순서대로 이어 붙인다.
+    public HashMap<Long, List<DrawInfo>> toDrawInfo() {
+        HashMap<Long, List<DrawInfo>> drawInfo = new HashMap<>();
+        for (int i = 0; i < memberIds.length; i++) {
+            float[] coords = points[i];
+            List<DrawInfo> infos = drawInfo.computeIfAbsent(memberIds[i], id -> new ArrayList<>(coords.length / 2));
+            for (int p = 0; p < coords.length; p += 2) {
+                infos.add(new DrawInfo(coords[p], coords[p + 1]));
+            }
+        }
+        return drawInfo;
+    }
+
+    public int memberCount() {
+        return memberIds.length;
+    }
+
+    public long memberId(int idx) {
+        return memberIds[idx];
+    }
+
+    // x0, y0, x1, y1 ... 순서의 좌표 배열
+    public float[] points(int idx) {
+        return points[idx];
+    }
+
+    // 빈 좌표 목록은 클라이언트에서 해당 멤버의 그림 지우기 신호로 쓰인다.
+    public boolean hasEmptyStroke() {
+        for (float[] coords : points) {
+            if (coords.length == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int pointCount() {
+        int count = 0;
+        for (float[] coords : points) {
+            count += coords.length / 2;
+        }
+        return count;
+    }
+}
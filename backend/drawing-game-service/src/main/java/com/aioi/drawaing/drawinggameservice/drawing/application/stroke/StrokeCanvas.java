@@ -0,0 +1,57 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 세션의 현재 캔버스. 클라이언트에 보낸 프레임을 인코딩된 채로 쌓아 두고,
+ * 스냅샷을 만들거나 프레임이 많아지면 한 번 풀어서 지우기 신호를 반영한 한 프레임으로 압축한다.
+ * 호출하는 쪽(StrokeAggregator)의 세션 잠금 안에서만 쓴다.
+ */
+final class StrokeCanvas {
+    private static final int COMPACT_FRAMES = 256;
+
+    private final List<byte[]> frames = new ArrayList<>();
+
+    void append(byte[] frame) {
+        frames.add(frame);
+        if (frames.size() >= COMPACT_FRAMES) {
+            compact();
+        }
+    }
+
+    // 멤버별로 지금 화면에 남아 있는 좌표를 한 프레임으로 인코딩해서 돌려준다.
+    byte[] snapshot() {
+        compact();
+        return frames.isEmpty() ? StrokeCodec.encode(new StrokeBatch(new long[0], new float[0][])) : frames.get(0);
+    }
+
+    private void compact() {
+        if (frames.isEmpty()) {
+            return;
+        }
+        StrokeBatch replayed = StrokeCodec.decode(StrokeCodec.concat(frames));
+        Map<Long, PointBuffer> members = new LinkedHashMap<>();
+        for (int m = 0; m < replayed.memberCount(); m++) {
+            float[] coords = replayed.points(m);
+            if (coords.length == 0) {
+                members.remove(replayed.memberId(m));
+            } else {
+                members.computeIfAbsent(replayed.memberId(m), id -> new PointBuffer()).add(coords);
+            }
+        }
+        long[] memberIds = new long[members.size()];
+        float[][] points = new float[members.size()][];
+        int idx = 0;
+        for (Map.Entry<Long, PointBuffer> entry : members.entrySet()) {
+            memberIds[idx] = entry.getKey();
+            points[idx++] = entry.getValue().toArray();
+        }
+        frames.clear();
+        if (memberIds.length > 0) {
+            frames.add(StrokeCodec.encode(new StrokeBatch(memberIds, points)));
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import org.springframework.util.MimeType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * /session.draw 바이너리 페이로드 인코더/디코더.
+ *
+ * <pre>
+ * byte    version (1)
+ * varint  scale (좌표 1 당 정수 단위 수, 10 이면 0.1px 단위로 양자화)
+ * varint  memberCount
+ * 멤버마다:
+ *   zigzag varint  memberId
+ *   varint         pointCount
+ *   zigzag varint  x0, y0 (양자화된 절대 좌표)
+ *   zigzag varint  dx, dy (이전 점과의 차이) * (pointCount - 1)
+ * </pre>
+ */
+public final class StrokeCodec {
+    public static final MimeType MIME_TYPE = MimeType.valueOf("application/x-drawaing-stroke");
+    public static final int DEFAULT_SCALE = 10;
+    public static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+    private static final byte VERSION = 1;
+
+    private StrokeCodec() {
+    }
+
+    public static byte[] encode(StrokeBatch batch) {
+        return encode(batch, DEFAULT_SCALE);
+    }
+
+    public static byte[] encode(StrokeBatch batch, int scale) {
+        Writer writer = new Writer(16 + batch.pointCount() * 3);
+        writer.writeByte(VERSION);
+        writer.writeVarint(scale);
+        writer.writeVarint(batch.memberCount());
+        for (int m = 0; m < batch.memberCount(); m++) {
+            float[] coords = batch.points(m);
+            writer.writeVarint(zigzag(batch.memberId(m)));
+            writer.writeVarint(coords.length / 2);
+            long prevX = 0;
+            long prevY = 0;
+            for (int p = 0; p < coords.length; p += 2) {
+                long x = Math.round(coords[p] * scale);
+                long y = Math.round(coords[p + 1] * scale);
+                writer.writeVarint(zigzag(x - prevX));
+                writer.writeVarint(zigzag(y - prevY));
+                prevX = x;
+                prevY = y;
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    public static StrokeBatch decode(byte[] payload) {
+        Reader reader = new Reader(payload);
+        readHeader(reader);
+        int scale = (int) reader.readVarint();
+        int memberCount = (int) reader.readVarint();
+        if (scale <= 0 || memberCount < 0 || memberCount > payload.length) {
+            throw new IllegalArgumentException("잘못된 stroke 헤더입니다.");
+        }
+        long[] memberIds = new long[memberCount];
+        float[][] points = new float[memberCount][];
+        for (int m = 0; m < memberCount; m++) {
+            memberIds[m] = unzigzag(reader.readVarint());
+            int pointCount = (int) reader.readVarint();
+            if (pointCount < 0 || pointCount > payload.length) {
+                throw new IllegalArgumentException("잘못된 stroke 좌표 개수입니다.");
+            }
+            float[] coords = new float[pointCount * 2];
+            long x = 0;
+            long y = 0;
+            for (int p = 0; p < coords.length; p += 2) {
+                x += unzigzag(reader.readVarint());
+                y += unzigzag(reader.readVarint());
+                coords[p] = (float) x / scale;
+                coords[p + 1] = (float) y / scale;
+            }
+            points[m] = coords;
+        }
+        reader.requireEnd();
+        return new StrokeBatch(memberIds, points);
+    }
+
+    // scale 이 같은 프레임들은 디코딩하지 않고 멤버 구간만 이어 붙인다.
+    // 같은 멤버가 여러 번 나올 수 있으며, 클라이언트는 순서대로 이어서 그리면 된다.
+    public static byte[] concat(List<byte[]> frames) {
+        if (frames.size() == 1) {
+            return frames.get(0);
+        }
+        int scale = -1;
+        long memberCount = 0;
+        int bodyLength = 0;
+        int[] bodyOffsets = new int[frames.size()];
+        for (int i = 0; i < frames.size(); i++) {
+            Reader reader = new Reader(frames.get(i));
+            readHeader(reader);
+            int frameScale = (int) reader.readVarint();
+            if (scale != -1 && scale != frameScale) {
+                return reencode(frames);
+            }
+            scale = frameScale;
+            memberCount += reader.readVarint();
+            bodyOffsets[i] = reader.position;
+            bodyLength += frames.get(i).length - reader.position;
+        }
+        Writer writer = new Writer(bodyLength + 16);
+        writer.writeByte(VERSION);
+        writer.writeVarint(scale);
+        writer.writeVarint(memberCount);
+        for (int i = 0; i < frames.size(); i++) {
+            byte[] frame = frames.get(i);
+            writer.writeBytes(frame, bodyOffsets[i], frame.length - bodyOffsets[i]);
+        }
+        return writer.toByteArray();
+    }
+
+    private static byte[] reencode(List<byte[]> frames) {
+        List<StrokeBatch> batches = new ArrayList<>(frames.size());
+        for (byte[] frame : frames) {
+            batches.add(decode(frame));
+        }
+        return encode(StrokeBatch.concat(batches));
+    }
+
+    // 중계할 프레임은 좌표 배열을 만들지 않고 끝까지 훑어 구조만 확인한다.
+    // concat 이 본문을 바이트 그대로 이어 붙이므로, 멤버 수가 틀리거나 뒤에 남는 바이트가 있는 프레임이
+    // 섞이면 같은 flush 의 다른 프레임과 캔버스 전체가 깨진다.
+    public static void validate(byte[] payload) {
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("stroke 페이로드가 너무 큽니다: " + payload.length);
+        }
+        Reader reader = new Reader(payload);
+        readHeader(reader);
+        long scale = reader.readVarint();
+        long memberCount = reader.readVarint();
+        // 멤버마다 적어도 memberId, pointCount 두 바이트가 있어야 한다.
+        if (scale <= 0 || scale > Integer.MAX_VALUE || memberCount < 0 || memberCount * 2 > reader.remaining()) {
+            throw new IllegalArgumentException("잘못된 stroke 헤더입니다.");
+        }
+        for (long m = 0; m < memberCount; m++) {
+            reader.readVarint();
+            long pointCount = reader.readVarint();
+            // 좌표 하나는 x, y varint 두 개이고 varint 는 한 바이트 이상이다.
+            if (pointCount < 0 || pointCount * 2 > reader.remaining()) {
+                throw new IllegalArgumentException("잘못된 stroke 좌표 개수입니다.");
+            }
+            for (long v = 0; v < pointCount * 2; v++) {
+                reader.readVarint();
+            }
+        }
+        reader.requireEnd();
+    }
+
+    // 프레임을 풀지 않고 첫 멤버 id 만 읽는다. 멤버가 없으면 null.
+    public static Long firstMemberId(byte[] payload) {
+        Reader reader = new Reader(payload);
+        readHeader(reader);
+        reader.readVarint();
+        if (reader.readVarint() <= 0) {
+            return null;
+        }
+        return unzigzag(reader.readVarint());
+    }
+
+    private static void readHeader(Reader reader) {
+        byte version = reader.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 stroke 버전입니다: " + version);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int initialCapacity) {
+            this.buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] source, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(source, offset, buffer, position, length);
+            position += length;
+        }
+
+        private void ensureCapacity(int required) {
+            if (position + required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + required));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("stroke 페이로드가 잘렸습니다.");
+            }
+            return buffer[position++];
+        }
+
+        private long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("잘못된 varint 입니다.");
+        }
+
+        private int remaining() {
+            return buffer.length - position;
+        }
+
+        private void requireEnd() {
+            if (position != buffer.length) {
+                throw new IllegalArgumentException("stroke 페이로드 뒤에 남는 바이트가 있습니다: " + remaining());
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ramer–Douglas–Peucker 로 멤버별 polyline 의 거의 일직선/중복인 점을 걸러낸다.
+ * 조각마다 양 끝점은 유지하므로 이어지는 조각과의 연결은 그대로다.
+ */
+@Order(100)
+@Component
+public class StrokeSimplifier implements StrokeStage {
+    private final float tolerance;
+    private final Counter pointsIn;
+    private final Counter pointsOut;
+
+    public StrokeSimplifier(@Value("${game.stroke.simplify-tolerance:1.0}") float tolerance, MeterRegistry meterRegistry) {
+        this.tolerance = tolerance;
+        this.pointsIn = Counter.builder("drawing.stroke.simplify.points").tag("stage", "in").register(meterRegistry);
+        this.pointsOut = Counter.builder("drawing.stroke.simplify.points").tag("stage", "out").register(meterRegistry);
+    }
+
+    @Override
+    public StrokeBatch apply(String roomId, String sessionId, StrokeBatch batch) {
+        if (tolerance <= 0) {
+            return batch;
+        }
+        float[][] simplified = new float[batch.memberCount()][];
+        long[] memberIds = new long[batch.memberCount()];
+        int in = 0;
+        int out = 0;
+        for (int m = 0; m < batch.memberCount(); m++) {
+            float[] coords = batch.points(m);
+            memberIds[m] = batch.memberId(m);
+            simplified[m] = simplify(coords, tolerance);
+            in += coords.length / 2;
+            out += simplified[m].length / 2;
+        }
+        pointsIn.increment(in);
+        pointsOut.increment(out);
+        return new StrokeBatch(memberIds, simplified);
+    }
+
+    // x, y 가 번갈아 들어 있는 좌표 배열을 단순화한다. 재귀 대신 구간 스택을 쓴다.
+    public static float[] simplify(float[] coords, float tolerance) {
+        int n = coords.length / 2;
+        if (n <= 2 || tolerance <= 0) {
+            return coords;
+        }
+        float toleranceSq = tolerance * tolerance;
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        int kept = 2;
+
+        int[] stack = new int[n * 2];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+            float maxDistSq = 0;
+            int index = -1;
+            for (int i = first + 1; i < last; i++) {
+                float distSq = segmentDistanceSq(coords, i, first, last);
+                if (distSq > maxDistSq) {
+                    maxDistSq = distSq;
+                    index = i;
+                }
+            }
+            if (index == -1 || maxDistSq <= toleranceSq) {
+                continue;
+            }
+            keep[index] = true;
+            kept++;
+            if (index - first > 1) {
+                stack[top++] = first;
+                stack[top++] = index;
+            }
+            if (last - index > 1) {
+                stack[top++] = index;
+                stack[top++] = last;
+            }
+        }
+
+        if (kept == n) {
+            return coords;
+        }
+        float[] result = new float[kept * 2];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                result[pos++] = coords[i * 2];
+                result[pos++] = coords[i * 2 + 1];
+            }
+        }
+        return result;
+    }
+
+    // 점 p 와 선분 (a, b) 사이 거리의 제곱
+    private static float segmentDistanceSq(float[] coords, int p, int a, int b) {
+        float px = coords[p * 2];
+        float py = coords[p * 2 + 1];
+        float ax = coords[a * 2];
+        float ay = coords[a * 2 + 1];
+        float dx = coords[b * 2] - ax;
+        float dy = coords[b * 2 + 1] - ay;
+        float lengthSq = dx * dx + dy * dy;
+        float t = lengthSq == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSq));
+        float ex = px - (ax + t * dx);
+        float ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+}
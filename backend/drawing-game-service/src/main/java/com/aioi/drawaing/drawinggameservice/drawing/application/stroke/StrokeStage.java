@@ -0,0 +1,6 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+// 브로드캐스트/기록 전에 stroke 를 가공하는 파이프라인 단계 (@Order 순서대로 적용)
+public interface StrokeStage {
+    StrokeBatch apply(String roomId, String sessionId, StrokeBatch batch);
+}
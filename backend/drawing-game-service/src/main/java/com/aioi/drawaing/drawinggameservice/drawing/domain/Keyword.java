@@ -13,4 +13,6 @@ public class Keyword {
     @Id
     private String id;
     private String keyword;
+    // 난이도/분류별 제시어 풀을 나눌 때 쓴다. 없으면 기본 풀에만 들어간다.
+    private String category;
 }
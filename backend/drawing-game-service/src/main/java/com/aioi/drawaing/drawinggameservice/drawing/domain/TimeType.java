@@ -1,5 +0,0 @@
-package com.aioi.drawaing.drawinggameservice.drawing.domain;
-
-public enum TimeType {
-    SESSION, DRAWING
-}
@@ -0,0 +1,77 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Participant;
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.WinParticipantInfo;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 세션 상태를 메모리에 두지 않고 Mongo 에 두는 경우(여러 노드가 같은 세션을 다룰 때).
+ * 모든 변경은 필드 단위 원자 연산으로 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "game.session.state-store", havingValue = "mongo")
+public class MongoSessionStateStore implements SessionStateStore {
+    private final SessionRepository sessionRepository;
+
+    @Override
+    public Session create(String roomId) {
+        return sessionRepository.save(Session.createSession(roomId));
+    }
+
+    @Override
+    public Session find(String sessionId) {
+        return sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("session id가 잘못됐습니다."));
+    }
+
+    @Override
+    public Session start(String sessionId, List<String> words, List<AddRoomParticipantInfo> addParticipantInfos) {
+        Map<Long, Participant> participants = new LinkedHashMap<>();
+        addParticipantInfos.forEach(info -> participants.put(info.memberId(),
+                Participant.createParticipant(info.nickname(), info.characterUrl())));
+        return require(sessionId, sessionRepository.updateStartInfo(sessionId, words, participants));
+    }
+
+    @Override
+    public boolean decrementChanceCount(String sessionId, Long userId) {
+        return sessionRepository.decrementChanceCount(sessionId, userId);
+    }
+
+    @Override
+    public Session win(String sessionId, WinParticipantInfo winParticipantInfo, int correctScore, int drawScore) {
+        return require(sessionId, sessionRepository.win(sessionId, winParticipantInfo.drawingMemberId(),
+                winParticipantInfo.answerMemberId(), correctScore, drawScore));
+    }
+
+    @Override
+    public Session lose(String sessionId) {
+        return require(sessionId, sessionRepository.incrementRoundCount(sessionId));
+    }
+
+    // 변경이 매번 바로 저장되므로 최종 상태만 다시 읽는다.
+    @Override
+    public Session close(String sessionId) {
+        return find(sessionId);
+    }
+
+    // 메모리에 두는 것이 없으므로 정리할 것도 없다.
+    @Override
+    public void discard(String sessionId) {
+    }
+
+    private Session require(String sessionId, Session session) {
+        if (session == null) {
+            throw new RuntimeException("session id가 잘못됐습니다.");
+        }
+        return session;
+    }
+}
@@ -0,0 +1,19 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Participant;
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+
+import java.util.List;
+import java.util.Map;
+
+// 세션 문서 전체를 다시 쓰지 않고 필요한 필드만 원자적으로 바꾸는 연산
+public interface SessionRepositoryCustom {
+    Session updateStartInfo(String sessionId, List<String> words, Map<Long, Participant> participants);
+
+    // 남은 기회가 있을 때만 1 줄이고, 줄였는지 여부를 반환한다.
+    boolean decrementChanceCount(String sessionId, Long userId);
+
+    Session win(String sessionId, Long drawingMemberId, Long answerMemberId, int correctScore, int drawScore);
+
+    Session incrementRoundCount(String sessionId);
+}
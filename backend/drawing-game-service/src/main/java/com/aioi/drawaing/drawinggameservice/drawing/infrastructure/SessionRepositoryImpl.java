@@ -0,0 +1,63 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Participant;
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * participants 맵 전체를 save 로 덮어쓰면 동시에 들어온 정답/기회 차감이 유실되므로
+ * participants.&lt;id&gt;.필드 단위의 $inc/$set 으로 한 번에 갱신한다.
+ * 갱신 결과로는 문서 전체를 돌려받는다. 다음 라운드 제시어(words)와 참여자가 있어야
+ * 라운드를 이어서 시작할 수 있으므로 카운터만 projection 하지 않는다.
+ */
+@RequiredArgsConstructor
+public class SessionRepositoryImpl implements SessionRepositoryCustom {
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Session updateStartInfo(String sessionId, List<String> words, Map<Long, Participant> participants) {
+        Update update = new Update().set("words", words);
+        participants.forEach((userId, participant) -> update.set(participantField(userId, null), participant));
+        return mongoTemplate.findAndModify(byId(sessionId), update, RETURN_NEW, Session.class);
+    }
+
+    @Override
+    public boolean decrementChanceCount(String sessionId, Long userId) {
+        String chanceCount = participantField(userId, "chanceCount");
+        Query query = new Query(Criteria.where("_id").is(sessionId).and(chanceCount).gt(0));
+        return mongoTemplate.updateFirst(query, new Update().inc(chanceCount, -1), Session.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public Session win(String sessionId, Long drawingMemberId, Long answerMemberId, int correctScore, int drawScore) {
+        Update update = new Update()
+                .inc("humanWin", 1)
+                .inc("roundCount", 1)
+                .inc(participantField(drawingMemberId, "bonusPointsDrawing"), drawScore)
+                .inc(participantField(answerMemberId, "bonusPointsGuessing"), correctScore);
+        return mongoTemplate.findAndModify(byId(sessionId), update, RETURN_NEW, Session.class);
+    }
+
+    @Override
+    public Session incrementRoundCount(String sessionId) {
+        return mongoTemplate.findAndModify(byId(sessionId), new Update().inc("roundCount", 1), RETURN_NEW, Session.class);
+    }
+
+    private Query byId(String sessionId) {
+        return new Query(Criteria.where("_id").is(sessionId));
+    }
+
+    private String participantField(Long userId, String field) {
+        return field == null ? "participants." + userId : "participants." + userId + "." + field;
+    }
+}
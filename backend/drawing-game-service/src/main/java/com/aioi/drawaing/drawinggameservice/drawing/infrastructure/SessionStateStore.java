@@ -0,0 +1,28 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.WinParticipantInfo;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+
+import java.util.List;
+
+// 진행 중인 게임 세션 상태를 읽고 변경하는 저장소
+public interface SessionStateStore {
+    Session create(String roomId);
+
+    Session find(String sessionId);
+
+    Session start(String sessionId, List<String> words, List<AddRoomParticipantInfo> addParticipantInfos);
+
+    boolean decrementChanceCount(String sessionId, Long userId);
+
+    Session win(String sessionId, WinParticipantInfo winParticipantInfo, int correctScore, int drawScore);
+
+    Session lose(String sessionId);
+
+    // 세션 종료 시 최종 상태를 저장하고 반환한다.
+    Session close(String sessionId);
+
+    // 시작하지 않고 버려진 세션(방 삭제 등)을 정리한다.
+    void discard(String sessionId);
+}
@@ -0,0 +1,231 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.WinParticipantInfo;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 방을 소유한 노드(게이트웨이가 roomId 로 고정)의 메모리에 세션을 두고 변경한다.
+ * 변경된 세션은 dirty 로 표시했다가 주기적으로 bulk write 로 모아서 저장하고,
+ * 세션이 끝나면 즉시 저장 후 메모리에서 내린다.
+ * 새로 만든 세션은 다음 게임에서야 시작되므로 메모리에 올리지 않고, 처음 쓸 때 읽어 온다.
+ * 방이 지워져 시작되지 못한 세션은 discard 로 내린다.
+ * flush batch 와 close 는 writeLock 으로 서로 배제해, 먼저 만든 batch 문서가 최종 저장을 덮어쓰지 않게 한다.
+ * 끝난 세션 id 는 closed-retention-millis 동안 기억해, 늦게 온 채팅이나 sync 가 세션을 다시 올려
+ * 변경하거나 저장하지 않게 한다. 끝난 세션은 Mongo 에서 읽기만 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "game.session.state-store", havingValue = "memory", matchIfMissing = true)
+public class WriteBehindSessionStateStore implements SessionStateStore {
+    private final SessionRepository sessionRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ScheduledExecutorService schedule;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Set<String> dirtySessionIds = ConcurrentHashMap.newKeySet();
+    // 끝난 sessionId -> 끝난 시각(epoch millis)
+    private final Map<String, Long> closedSessionIds = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    @Value("${game.session.flush-interval-millis:200}")
+    private long flushIntervalMillis;
+
+    @Value("${game.session.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${game.session.closed-retention-millis:600000}")
+    private long closedRetentionMillis;
+
+    @PostConstruct
+    public void startFlusher() {
+        schedule.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    public Session create(String roomId) {
+        return sessionRepository.save(Session.createSession(roomId));
+    }
+
+    // Mongo 조회는 맵 잠금 밖에서 하고, 동시에 읽은 쪽이 있으면 먼저 올린 객체를 쓴다.
+    @Override
+    public Session find(String sessionId) {
+        Session cached = sessions.get(sessionId);
+        if (cached != null) {
+            return cached;
+        }
+        Session loaded = load(sessionId);
+        if (closedSessionIds.containsKey(sessionId)) {
+            return loaded;
+        }
+        Session previous = sessions.putIfAbsent(sessionId, loaded);
+        if (previous != null) {
+            return previous;
+        }
+        // 읽는 사이에 세션이 끝났으면 다시 내린다.
+        if (closedSessionIds.containsKey(sessionId)) {
+            sessions.remove(sessionId, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public Session start(String sessionId, List<String> words, List<AddRoomParticipantInfo> addParticipantInfos) {
+        return update(sessionId, session -> session.updateSessionStartInfo(words, addParticipantInfos));
+    }
+
+    @Override
+    public boolean decrementChanceCount(String sessionId, Long userId) {
+        // 끝난 뒤 들어온 채팅은 기회를 쓰지 않고 버린다.
+        if (closedSessionIds.containsKey(sessionId)) {
+            return false;
+        }
+        Session session = find(sessionId);
+        synchronized (session) {
+            if (session.getChanceCount(userId) <= 0) {
+                return false;
+            }
+            session.decrementParticipantChanceCount(userId);
+        }
+        dirtySessionIds.add(sessionId);
+        return true;
+    }
+
+    @Override
+    public Session win(String sessionId, WinParticipantInfo winParticipantInfo, int correctScore, int drawScore) {
+        return update(sessionId, session -> session.win(winParticipantInfo, correctScore, drawScore));
+    }
+
+    @Override
+    public Session lose(String sessionId) {
+        return update(sessionId, Session::incrementRoundCount);
+    }
+
+    @Override
+    public Session close(String sessionId) {
+        Session session = find(sessionId);
+        synchronized (writeLock) {
+            closedSessionIds.put(sessionId, System.currentTimeMillis());
+            dirtySessionIds.remove(sessionId);
+            mongoTemplate.save(toDocument(session), mongoTemplate.getCollectionName(Session.class));
+            sessions.remove(sessionId);
+        }
+        return session;
+    }
+
+    // 끝난 세션처럼 다시 올리지 않는다. 그 사이 바뀐 것이 있으면 저장하고 내린다.
+    @Override
+    public void discard(String sessionId) {
+        synchronized (writeLock) {
+            closedSessionIds.put(sessionId, System.currentTimeMillis());
+            Session session = sessions.remove(sessionId);
+            if (dirtySessionIds.remove(sessionId) && session != null) {
+                mongoTemplate.save(toDocument(session), mongoTemplate.getCollectionName(Session.class));
+            }
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private Session update(String sessionId, Consumer<Session> mutation) {
+        if (closedSessionIds.containsKey(sessionId)) {
+            throw new IllegalStateException("이미 끝난 세션입니다: " + sessionId);
+        }
+        Session session = find(sessionId);
+        synchronized (session) {
+            mutation.accept(session);
+        }
+        dirtySessionIds.add(sessionId);
+        return session;
+    }
+
+    private Session load(String sessionId) {
+        return sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("session id가 잘못됐습니다."));
+    }
+
+    private void flushSafely() {
+        try {
+            closedSessionIds.values().removeIf(closedAt -> closedAt < System.currentTimeMillis() - closedRetentionMillis);
+            flush();
+        } catch (Exception e) {
+            log.error("세션 write-behind 저장에 실패했습니다.", e);
+        }
+    }
+
+    // dirty 세션을 batch 크기만큼 묶어서 한 번의 bulk write 로 저장한다.
+    // batch 를 만들고 쓰는 동안 close 가 끼어들지 못하게 batch 단위로 writeLock 을 잡는다.
+    private void flush() {
+        Iterator<String> iterator = dirtySessionIds.iterator();
+        while (iterator.hasNext()) {
+            synchronized (writeLock) {
+                flushBatch(iterator);
+            }
+        }
+    }
+
+    private void flushBatch(Iterator<String> iterator) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Session.class);
+        List<String> batch = new ArrayList<>(flushBatchSize);
+        while (iterator.hasNext() && batch.size() < flushBatchSize) {
+            String sessionId = iterator.next();
+            iterator.remove();
+            Session session = sessions.get(sessionId);
+            if (session == null) {
+                continue;
+            }
+            bulkOperations.replaceOne(Query.query(Criteria.where("_id").is(sessionId)), toDocument(session),
+                    FindAndReplaceOptions.options().upsert());
+            batch.add(sessionId);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            bulkOperations.execute();
+        } catch (RuntimeException e) {
+            // 다음 flush 에서 다시 저장하도록 되돌린다.
+            dirtySessionIds.addAll(batch);
+            throw e;
+        }
+    }
+
+    // 변경 중인 세션을 읽지 않도록 잠금 안에서 문서로 변환한다.
+    private Document toDocument(Session session) {
+        Document document = new Document();
+        synchronized (session) {
+            mongoTemplate.getConverter().write(session, document);
+        }
+        return document;
+    }
+}
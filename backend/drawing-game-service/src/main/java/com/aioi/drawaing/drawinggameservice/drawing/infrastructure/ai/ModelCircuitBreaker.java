@@ -0,0 +1,59 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 모델 서버 호출이 연속으로 실패하면 open-millis 동안 요청을 바로 거절한다.
+ * 시간이 지나면 요청 하나만 시험으로 보내고(HALF_OPEN), 성공하면 닫고 실패하면 다시 연다.
+ */
+final class ModelCircuitBreaker {
+    enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    ModelCircuitBreaker(int failureThreshold, long openMillis, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+            trialInFlight = false;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,185 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai;
+
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.response.BatchPredictResponse;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.response.PredictResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FastAPI 모델 서버에 추측 요청을 모아서 보낸다.
+ * 여러 세션의 그림을 batch-window 동안 모으거나 max-batch-size 가 차면 /predict/batch 한 번으로 보내고,
+ * 응답은 보낸 순서대로 각 세션의 future 에 나눠 준다.
+ * 동시에 보내는 batch 는 max-in-flight 개로 제한하고, 대기열이 넘치거나 차단기가 열려 있으면 바로 실패시킨다.
+ * 호출은 모두 비동기라 모델 서버가 느려도 게임 시계나 인바운드 스레드를 막지 않는다.
+ */
+@Slf4j
+@Component
+public class ModelServerClient {
+    private static final MediaType PNG = MediaType.get("image/png");
+
+    private final OkHttpClient okHttpClient;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService schedule;
+    private final MeterRegistry meterRegistry;
+    private final String batchUrl;
+    private final int maxBatchSize;
+    private final long batchWindowMillis;
+    private final int maxPending;
+    private final Semaphore inFlight;
+    private final ModelCircuitBreaker circuitBreaker;
+    private final Queue<PendingPrediction> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean windowScheduled = new AtomicBoolean();
+    private final DistributionSummary batchSize;
+
+    public ModelServerClient(@Qualifier("modelServerHttpClient") OkHttpClient okHttpClient, ObjectMapper objectMapper,
+                             ScheduledExecutorService schedule, MeterRegistry meterRegistry,
+                             @Value("${game.guess.model-url:http://localhost:8000}") String modelUrl,
+                             @Value("${game.guess.batch-window-millis:20}") long batchWindowMillis,
+                             @Value("${game.guess.max-batch-size:32}") int maxBatchSize,
+                             @Value("${game.guess.max-in-flight:4}") int maxInFlight,
+                             @Value("${game.guess.max-pending:512}") int maxPending,
+                             @Value("${game.guess.breaker.failure-threshold:5}") int failureThreshold,
+                             @Value("${game.guess.breaker.open-millis:10000}") long openMillis) {
+        this.okHttpClient = okHttpClient;
+        this.objectMapper = objectMapper;
+        this.schedule = schedule;
+        this.meterRegistry = meterRegistry;
+        this.batchUrl = modelUrl + "/predict/batch";
+        this.batchWindowMillis = batchWindowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPending = maxPending;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.circuitBreaker = new ModelCircuitBreaker(failureThreshold, openMillis, System::nanoTime);
+        this.batchSize = DistributionSummary.builder("drawing.guess.batch.size").register(meterRegistry);
+        Gauge.builder("drawing.guess.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("drawing.guess.breaker.open", circuitBreaker,
+                breaker -> breaker.state() == ModelCircuitBreaker.State.CLOSED ? 0 : 1).register(meterRegistry);
+    }
+
+    public CompletableFuture<PredictResponse> predict(byte[] png, String quizWord) {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            return rejected("pending", "모델 서버 대기열이 가득 찼습니다.");
+        }
+        if (!circuitBreaker.allowRequest()) {
+            pendingCount.decrementAndGet();
+            return rejected("breaker", "모델 서버 호출이 차단되어 있습니다.");
+        }
+        PendingPrediction prediction = new PendingPrediction(png, quizWord, new CompletableFuture<>());
+        pending.add(prediction);
+        if (pendingCount.get() >= maxBatchSize) {
+            schedule.execute(this::drain);
+        } else if (windowScheduled.compareAndSet(false, true)) {
+            schedule.schedule(() -> {
+                windowScheduled.set(false);
+                drain();
+            }, batchWindowMillis, TimeUnit.MILLISECONDS);
+        }
+        return prediction.future;
+    }
+
+    // 보낼 수 있는 만큼 batch 로 나눠 보낸다. 남은 요청은 앞선 batch 가 끝날 때 이어서 보낸다.
+    private void drain() {
+        while (!pending.isEmpty() && inFlight.tryAcquire()) {
+            List<PendingPrediction> batch = new ArrayList<>(maxBatchSize);
+            PendingPrediction prediction;
+            while (batch.size() < maxBatchSize && (prediction = pending.poll()) != null) {
+                batch.add(prediction);
+            }
+            pendingCount.addAndGet(-batch.size());
+            if (batch.isEmpty()) {
+                inFlight.release();
+                return;
+            }
+            send(batch);
+        }
+    }
+
+    private void send(List<PendingPrediction> batch) {
+        batchSize.record(batch.size());
+        MultipartBody.Builder body = new MultipartBody.Builder().setType(MultipartBody.FORM);
+        for (PendingPrediction prediction : batch) {
+            body.addFormDataPart("files", "drawing.png", RequestBody.create(prediction.png, PNG));
+        }
+        for (PendingPrediction prediction : batch) {
+            body.addFormDataPart("quizWords", prediction.quizWord);
+        }
+        Request request = new Request.Builder().url(batchUrl).post(body.build()).build();
+        okHttpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                complete(batch, null, e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody responseBody = response.body()) {
+                    if (!response.isSuccessful() || responseBody == null) {
+                        throw new IOException("모델 서버 응답 오류: " + response.code());
+                    }
+                    BatchPredictResponse result = objectMapper.readValue(responseBody.bytes(), BatchPredictResponse.class);
+                    if (result.predictions() == null || result.predictions().size() != batch.size()) {
+                        throw new IOException("모델 서버 응답 개수가 요청과 다릅니다.");
+                    }
+                    complete(batch, result.predictions(), null);
+                } catch (IOException e) {
+                    complete(batch, null, e);
+                }
+            }
+        });
+    }
+
+    private void complete(List<PendingPrediction> batch, List<PredictResponse> predictions, Exception e) {
+        inFlight.release();
+        if (e == null) {
+            circuitBreaker.onSuccess();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(predictions.get(i));
+            }
+        } else {
+            circuitBreaker.onFailure();
+            meterRegistry.counter("drawing.guess.batch.failed").increment();
+            log.warn("모델 서버 batch 요청에 실패했습니다. size={}", batch.size(), e);
+            batch.forEach(prediction -> prediction.future.completeExceptionally(e));
+        }
+        if (!pending.isEmpty()) {
+            drain();
+        }
+    }
+
+    private CompletableFuture<PredictResponse> rejected(String reason, String message) {
+        meterRegistry.counter("drawing.guess.rejected", "reason", reason).increment();
+        return CompletableFuture.failedFuture(new IllegalStateException(message));
+    }
+
+    private record PendingPrediction(byte[] png, String quizWord, CompletableFuture<PredictResponse> future) {
+    }
+}
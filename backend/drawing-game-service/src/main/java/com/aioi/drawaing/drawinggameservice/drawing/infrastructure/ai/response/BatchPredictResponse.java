@@ -0,0 +1,6 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.response;
+
+import java.util.List;
+
+public record BatchPredictResponse(List<PredictResponse> predictions) {
+}
@@ -0,0 +1,4 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.response;
+
+public record PredictResponse(String result, boolean correct) {
+}
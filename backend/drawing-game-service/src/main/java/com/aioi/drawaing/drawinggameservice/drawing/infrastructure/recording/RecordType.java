@@ -0,0 +1,32 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording;
+
+import java.util.Arrays;
+
+public enum RecordType {
+    // 제시어 목록 (UTF-8, 줄바꿈 구분)
+    SESSION_START(1),
+    // StrokeCodec 프레임
+    STROKE(2),
+    // long userId + UTF-8 메시지
+    CHAT(3),
+    // byte 정답 여부 + int roundCount
+    ROUND(4),
+    SESSION_END(5);
+
+    private final byte code;
+
+    RecordType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static RecordType of(byte code) {
+        return Arrays.stream(values())
+                .filter(type -> type.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 기록 타입입니다: " + code));
+    }
+}
@@ -0,0 +1,17 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// timestamp 는 기록 시점의 서버 epoch millis
+public record SessionRecord(RecordType type, long timestamp, byte[] payload) {
+
+    public static SessionRecord chat(long timestamp, long userId, String message) {
+        byte[] text = message == null ? new byte[0] : message.getBytes(StandardCharsets.UTF_8);
+        return new SessionRecord(RecordType.CHAT, timestamp, ByteBuffer.allocate(8 + text.length).putLong(userId).put(text).array());
+    }
+
+    public static SessionRecord round(long timestamp, boolean correct, int roundCount) {
+        return new SessionRecord(RecordType.ROUND, timestamp, ByteBuffer.allocate(5).put((byte) (correct ? 1 : 0)).putInt(roundCount).array());
+    }
+}
@@ -0,0 +1,265 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 세션의 stroke, 채팅, 라운드 경계를 세션별 append-only 파일에 남긴다.
+ * 호출 쪽은 큐에 넣기만 하고, 주기적으로 한 스레드가 세션별로 모아 chunk 하나씩 순차로 쓴다.
+ * 큐가 가득 차면 게임 진행을 막지 않도록 기록을 버린다.
+ * 종료 기록을 쓴 세션은 파일을 닫고, 그 뒤에 늦게 들어온 기록은 버린다.
+ * 보관 기간이 지났거나 전체 크기 한도를 넘긴 파일은 오래된 것부터 지운다. 기본값은 기록하지 않음이다.
+ */
+@Slf4j
+@Component
+public class SessionRecorder {
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final String EXTENSION = ".rec";
+    // 끝난 세션 id 를 기억하는 시간. 이보다 늦게 오는 기록은 없다고 본다.
+    private static final long ENDED_MEMORY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final ScheduledExecutorService schedule;
+    private final boolean enabled;
+    private final Path directory;
+    private final long flushIntervalMillis;
+    private final long retentionMillis;
+    private final long maxTotalBytes;
+    private final long purgeIntervalMillis;
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, FileChannel> channels = new HashMap<>();
+    // 끝난 sessionId -> 끝난 시각. flush 스레드에서만 쓴다.
+    private final Map<String, Long> endedSessionIds = new HashMap<>();
+    private final Counter dropped;
+    private final Counter late;
+    private final Counter purged;
+
+    public SessionRecorder(ScheduledExecutorService schedule, MeterRegistry meterRegistry,
+                           @Value("${game.recording.enabled:false}") boolean enabled,
+                           @Value("${game.recording.dir:recordings}") String directory,
+                           @Value("${game.recording.flush-interval-millis:200}") long flushIntervalMillis,
+                           @Value("${game.recording.queue-capacity:50000}") int queueCapacity,
+                           @Value("${game.recording.retention-hours:72}") long retentionHours,
+                           @Value("${game.recording.max-total-mb:1024}") long maxTotalMb,
+                           @Value("${game.recording.purge-interval-millis:600000}") long purgeIntervalMillis) {
+        this.schedule = schedule;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retentionMillis = TimeUnit.HOURS.toMillis(retentionHours);
+        this.maxTotalBytes = maxTotalMb * 1024 * 1024;
+        this.purgeIntervalMillis = purgeIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder("recording.dropped").register(meterRegistry);
+        this.late = Counter.builder("recording.late").register(meterRegistry);
+        this.purged = Counter.builder("recording.purged").register(meterRegistry);
+        Gauge.builder("recording.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        schedule.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        schedule.scheduleWithFixedDelay(this::purgeSafely, purgeIntervalMillis, purgeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        flushSafely();
+        channels.values().forEach(this::closeQuietly);
+        channels.clear();
+    }
+
+    public void recordSessionStart(String sessionId, List<String> words) {
+        record(sessionId, new SessionRecord(RecordType.SESSION_START, System.currentTimeMillis(),
+                String.join("\n", words).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public void recordStroke(String sessionId, byte[] encodedFrame) {
+        record(sessionId, new SessionRecord(RecordType.STROKE, System.currentTimeMillis(), encodedFrame));
+    }
+
+    public void recordChat(String sessionId, long userId, String message) {
+        record(sessionId, SessionRecord.chat(System.currentTimeMillis(), userId, message));
+    }
+
+    public void recordRound(String sessionId, boolean correct, int roundCount) {
+        record(sessionId, SessionRecord.round(System.currentTimeMillis(), correct, roundCount));
+    }
+
+    // 종료 기록을 남기고, 앞선 기록을 모두 쓴 뒤 파일을 닫는다.
+    public void recordSessionEnd(String sessionId) {
+        record(sessionId, new SessionRecord(RecordType.SESSION_END, System.currentTimeMillis(), new byte[0]));
+    }
+
+    public List<SessionRecord> read(String sessionId) throws IOException {
+        Path path = path(sessionId);
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            return SessionRecordingFormat.read(in);
+        }
+    }
+
+    public Path path(String sessionId) {
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            throw new IllegalArgumentException("잘못된 session id 입니다: " + sessionId);
+        }
+        return directory.resolve(sessionId + EXTENSION);
+    }
+
+    private void record(String sessionId, SessionRecord record) {
+        if (!enabled) {
+            return;
+        }
+        if (!queue.offer(new Pending(sessionId, record))) {
+            dropped.increment();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("세션 기록 저장에 실패했습니다.", e);
+        }
+    }
+
+    synchronized void flush() {
+        List<Pending> drained = new ArrayList<>(queue.size());
+        queue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+        Map<String, List<SessionRecord>> bySession = new LinkedHashMap<>();
+        for (Pending pending : drained) {
+            bySession.computeIfAbsent(pending.sessionId, id -> new ArrayList<>()).add(pending.record);
+        }
+        bySession.forEach(this::writeChunk);
+    }
+
+    private void writeChunk(String sessionId, List<SessionRecord> records) {
+        if (endedSessionIds.containsKey(sessionId)) {
+            late.increment(records.size());
+            return;
+        }
+        int end = indexOfSessionEnd(records);
+        if (end >= 0 && end < records.size() - 1) {
+            late.increment(records.size() - 1 - end);
+            records = records.subList(0, end + 1);
+        }
+        try {
+            FileChannel channel = channels.get(sessionId);
+            if (channel == null) {
+                channel = FileChannel.open(path(sessionId), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                channels.put(sessionId, channel);
+            }
+            ByteBuffer chunk = ByteBuffer.wrap(SessionRecordingFormat.encodeChunk(records));
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            dropped.increment(records.size());
+            log.error("세션 기록 chunk 를 쓰지 못했습니다: {}", sessionId, e);
+        }
+        // 쓰기에 실패해도 끝난 세션의 파일은 닫는다.
+        if (end >= 0) {
+            FileChannel channel = channels.remove(sessionId);
+            if (channel != null) {
+                closeQuietly(channel);
+            }
+            endedSessionIds.put(sessionId, System.currentTimeMillis());
+        }
+    }
+
+    private static int indexOfSessionEnd(List<SessionRecord> records) {
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i).type() == RecordType.SESSION_END) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (Exception e) {
+            log.error("세션 기록 정리에 실패했습니다.", e);
+        }
+    }
+
+    // 기록 중인 파일은 건드리지 않고, 오래된 파일부터 보관 기간과 전체 크기 한도에 맞춰 지운다. 0 이면 그 한도는 없다.
+    synchronized void purge() throws IOException {
+        long now = System.currentTimeMillis();
+        endedSessionIds.values().removeIf(endedAt -> endedAt < now - ENDED_MEMORY_MILLIS);
+        List<RecordingFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(EXTENSION)) {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    files.add(new RecordingFile(path, name.substring(0, name.length() - EXTENSION.length()),
+                            attributes.size(), attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        }
+        files.sort(Comparator.comparingLong(RecordingFile::modifiedMillis));
+        long total = files.stream().mapToLong(RecordingFile::size).sum();
+        for (RecordingFile file : files) {
+            boolean expired = retentionMillis > 0 && file.modifiedMillis < now - retentionMillis;
+            boolean overLimit = maxTotalBytes > 0 && total > maxTotalBytes;
+            if ((!expired && !overLimit) || channels.containsKey(file.sessionId)) {
+                continue;
+            }
+            Files.deleteIfExists(file.path);
+            total -= file.size;
+            purged.increment();
+        }
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("세션 기록 파일을 닫지 못했습니다.", e);
+        }
+    }
+
+    private record Pending(String sessionId, SessionRecord record) {
+    }
+
+    private record RecordingFile(Path path, String sessionId, long size, long modifiedMillis) {
+    }
+}
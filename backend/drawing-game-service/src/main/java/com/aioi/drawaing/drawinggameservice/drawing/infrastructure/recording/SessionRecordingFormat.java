@@ -0,0 +1,89 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 세션 기록 파일은 chunk 를 이어 붙인 append-only 파일이다.
+ * chunk: int bodyLength, int crc32(body), body
+ * body : long baseMillis, int recordCount, (byte type, int deltaMillis, int length, payload) * recordCount
+ * 쓰다가 죽어서 마지막 chunk 가 잘렸거나 crc 가 맞지 않으면 그 앞까지만 읽는다.
+ */
+public final class SessionRecordingFormat {
+
+    private SessionRecordingFormat() {
+    }
+
+    public static byte[] encodeChunk(List<SessionRecord> records) {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(64 + records.size() * 32);
+            DataOutputStream out = new DataOutputStream(body);
+            long baseMillis = records.get(0).timestamp();
+            out.writeLong(baseMillis);
+            out.writeInt(records.size());
+            for (SessionRecord record : records) {
+                out.writeByte(record.type().code());
+                out.writeInt((int) (record.timestamp() - baseMillis));
+                out.writeInt(record.payload().length);
+                out.write(record.payload());
+            }
+            byte[] bodyBytes = body.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bodyBytes);
+
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream(bodyBytes.length + 8);
+            DataOutputStream chunkOut = new DataOutputStream(chunk);
+            chunkOut.writeInt(bodyBytes.length);
+            chunkOut.writeInt((int) crc.getValue());
+            chunkOut.write(bodyBytes);
+            return chunk.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<SessionRecord> read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        List<SessionRecord> records = new ArrayList<>();
+        while (true) {
+            byte[] body;
+            int crcValue;
+            try {
+                int length = in.readInt();
+                crcValue = in.readInt();
+                body = new byte[length];
+                in.readFully(body);
+            } catch (EOFException e) {
+                return records;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != crcValue) {
+                return records;
+            }
+            readBody(body, records);
+        }
+    }
+
+    private static void readBody(byte[] body, List<SessionRecord> records) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        long baseMillis = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            RecordType type = RecordType.of(in.readByte());
+            long timestamp = baseMillis + in.readInt();
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            records.add(new SessionRecord(type, timestamp, payload));
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.aioi.drawaing.drawinggameservice.drawing.presentation;
 
+import com.aioi.drawaing.drawinggameservice.common.socket.PreparedMessagePublisher;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.AiGuess;
 import com.aioi.drawaing.drawinggameservice.drawing.application.dto.RoundInfo;
 import com.aioi.drawaing.drawinggameservice.drawing.application.dto.RoundResult;
 import com.aioi.drawaing.drawinggameservice.drawing.application.dto.Timer;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.TimerEpoch;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeCodec;
 import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.DrawInfo;
 import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.ParticipantScoreInfo;
 import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
@@ -17,15 +24,29 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class DrawMessagePublisher {
     private final SimpMessagingTemplate simpMessagingTemplate;
+    private final PreparedMessagePublisher preparedMessagePublisher;
 
 //    public void publishTimer(String topic, Timer message) {
 //        simpMessagingTemplate.convertAndSend(topic, message);
 //    }
+    // 남은 시간 조합은 많지 않아서 세션이 달라도 같은 Timer 가 계속 나온다. 만든 메시지를 그대로 다시 쓴다.
     public void publishTimer(String topic, Timer message) {
-        simpMessagingTemplate.convertAndSend(topic, message);
+        preparedMessagePublisher.publishCached(topic, message);
+    }
+    public void publishTimerEpoch(String topic, TimerEpoch message) {
+        preparedMessagePublisher.publish(topic, message);
+    }
+    public void publishRoundInfo(String topic, RoundInfo roundInfo){preparedMessagePublisher.publish(topic, roundInfo);}
+    public void publishRoundResult(String topic, RoundResult roundResult){preparedMessagePublisher.publishCached(topic, roundResult);}
+    public void publishGameResult(String topic, Map<Long, ParticipantScoreInfo> result){preparedMessagePublisher.publish(topic, result);}
+    public void publishAiGuess(String topic, AiGuess aiGuess){preparedMessagePublisher.publish(topic, aiGuess);}
+    public void publishDraw(String topic, HashMap<Long, List<DrawInfo>> drawInfo){preparedMessagePublisher.publish(topic, drawInfo);}
+
+    // 이미 인코딩된 stroke 바이트를 변환 없이 그대로 전달한다.
+    public void publishEncodedDraw(String topic, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(StrokeCodec.MIME_TYPE);
+        accessor.setLeaveMutable(true);
+        simpMessagingTemplate.send(topic, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
     }
-    public void publishRoundInfo(String topic, RoundInfo roundInfo){simpMessagingTemplate.convertAndSend(topic, roundInfo);}
-    public void publishRoundResult(String topic, RoundResult roundResult){simpMessagingTemplate.convertAndSend(topic, roundResult);}
-    public void publishGameResult(String topic, Map<Long, ParticipantScoreInfo> result){simpMessagingTemplate.convertAndSend(topic, result);}
-    public void publishDraw(String topic, HashMap<Long, List<DrawInfo>> drawInfo){simpMessagingTemplate.convertAndSend(topic, drawInfo);}
 }
@@ -1,16 +1,26 @@
 package com.aioi.drawaing.drawinggameservice.drawing.presentation;
 
 import com.aioi.drawaing.drawinggameservice.drawing.application.DrawingService;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.SessionSnapshot;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeCodec;
 import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.DrawInfo;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.ServerTime;
 import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.WinParticipantInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeType;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 
@@ -20,13 +30,34 @@ import java.util.List;
 public class DrawingController {
     private final SimpMessagingTemplate simpMessagingTemplate;
     private final DrawingService drawingService;
+    private final ObjectMapper objectMapper;
+    private static final TypeReference<HashMap<Long, List<DrawInfo>>> DRAW_INFO_TYPE = new TypeReference<>() {};
 
+    // content-type 이 stroke 바이너리면 그대로 중계하고, 아니면 기존 JSON 으로 처리한다.
     @MessageMapping("/session.draw/{roomId}/{sessionId}")
-    public void send(@DestinationVariable String roomId, @DestinationVariable String sessionId, @Payload HashMap<Long, List<DrawInfo>> drawInfo) {
+    public void send(@DestinationVariable String roomId, @DestinationVariable String sessionId, Message<byte[]> message) throws IOException {
+        MimeType contentType = SimpMessageHeaderAccessor.wrap(message).getContentType();
+        if (contentType != null && StrokeCodec.MIME_TYPE.equalsTypeAndSubtype(contentType)) {
+            drawingService.sendEncodedDraw(roomId, sessionId, message.getPayload());
+            return;
+        }
+        HashMap<Long, List<DrawInfo>> drawInfo = objectMapper.readValue(message.getPayload(), DRAW_INFO_TYPE);
         log.info("send message: {}", drawInfo.toString());
         drawingService.sendDraw(roomId, sessionId, drawInfo);
     }
 
+    // 클라이언트가 /app/clock.sync 를 구독하면 서버 시각을 한 번 돌려준다. (왕복 시간으로 시계 차이 보정)
+    @SubscribeMapping("/clock.sync")
+    public ServerTime syncClock() {
+        return new ServerTime(System.currentTimeMillis());
+    }
+
+    // 재접속 시 /app/session.sync/{roomId}/{sessionId} 를 구독하면 현재 세션 스냅샷을 한 번 받는다.
+    @SubscribeMapping("/session.sync/{roomId}/{sessionId}")
+    public SessionSnapshot sync(@DestinationVariable String roomId, @DestinationVariable String sessionId) {
+        return drawingService.snapshot(sessionId);
+    }
+
     @MessageMapping("/session.end/{roomId}/{sessionId}")
     public void endDraw(@DestinationVariable String roomId, @DestinationVariable String sessionId) {
         drawingService.resetDrawingTimer(sessionId);
@@ -40,6 +71,11 @@ public class DrawingController {
     @MessageMapping("/session.correct/{roomId}/{sessionId}")
     public void win(@DestinationVariable String roomId, @DestinationVariable String sessionId, @Payload WinParticipantInfo winParticipantInfo) {
         log.info(sessionId);
+        // 서버가 채팅으로 정답을 판정할 때는 클라이언트의 정답 신호로 두 번 점수를 주지 않는다.
+        if (drawingService.judgesAnswers()) {
+            log.info("서버 정답 판정 중이라 클라이언트 정답 신호를 무시합니다: {}", sessionId);
+            return;
+        }
         drawingService.win(roomId, sessionId, winParticipantInfo);
     }
 
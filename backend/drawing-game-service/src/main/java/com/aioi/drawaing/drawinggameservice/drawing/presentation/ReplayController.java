@@ -0,0 +1,46 @@
+package com.aioi.drawaing.drawinggameservice.drawing.presentation;
+
+import com.aioi.drawaing.drawinggameservice.drawing.application.ReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/drawing/session")
+@RestController
+public class ReplayController {
+    private final ReplayService replayService;
+
+    // 기록된 세션을 speed 배속으로 다시 보낸다. (0 이하면 한 번에)
+    @GetMapping(value = "/{sessionId}/replay", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter replay(@PathVariable("sessionId") String sessionId,
+                             @RequestParam(value = "speed", defaultValue = "1") double speed) throws IOException {
+        return replayService.replay(sessionId, speed);
+    }
+
+    // 검수/학습용 원본 기록 파일
+    @GetMapping("/{sessionId}/recording")
+    public ResponseEntity<Resource> recording(@PathVariable("sessionId") String sessionId) {
+        Path path = replayService.recordingPath(sessionId);
+        if (!Files.exists(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + path.getFileName() + "\"")
+                .body(new FileSystemResource(path));
+    }
+}
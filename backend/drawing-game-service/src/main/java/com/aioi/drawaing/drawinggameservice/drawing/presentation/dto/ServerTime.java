@@ -0,0 +1,4 @@
+package com.aioi.drawaing.drawinggameservice.drawing.presentation.dto;
+
+public record ServerTime(long serverTime) {
+}
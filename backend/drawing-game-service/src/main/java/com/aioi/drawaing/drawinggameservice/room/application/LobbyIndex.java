@@ -0,0 +1,137 @@
+package com.aioi.drawaing.drawinggameservice.room.application;
+
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyDelta;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyPage;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyRoom;
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
+import com.aioi.drawaing.drawinggameservice.room.presentation.RoomMessagePublisher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로비에 보여 줄 방 요약 인덱스. 방 상태가 바뀌는 곳에서 그 방 하나만 갱신하고,
+ * 바뀐 요약만 /topic/lobby 로 보낸다. 시청자 수와 상관없이 변경 한 번에 메시지 하나다.
+ * 목록은 만든 순서 번호로 정렬해 두고 커서 뒤에서 필요한 만큼만 꺼내므로 rooms 컬렉션을 훑지 않는다.
+ * 노드 로컬 인덱스이므로 애플리케이션이 뜬 뒤 한 번만 Mongo 에서 채운다. 실패하면 잠시 뒤 다시 시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LobbyIndex {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final long LOAD_RETRY_SECONDS = 10;
+
+    private final RoomRepository roomRepository;
+    private final RoomMessagePublisher roomMessagePublisher;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService schedule;
+    // 목록 순서 번호 -> 요약 (최근에 만든 방이 앞에 온다)
+    private final ConcurrentSkipListMap<Long, LobbyRoom> byOrder = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> orderByRoomId = new ConcurrentHashMap<>();
+    private final AtomicLong orderSequence = new AtomicLong();
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("room.lobby.size", byOrder, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnReady() {
+        schedule.execute(this::loadSafely);
+    }
+
+    // 불러오는 동안 upsert 로 이미 들어온 방은 더 최신이므로 덮어쓰지 않는다.
+    public void load() {
+        for (Room room : roomRepository.findAll()) {
+            orderByRoomId.computeIfAbsent(room.getId(), id -> {
+                long key = orderSequence.incrementAndGet();
+                byOrder.put(key, LobbyRoom.of(room, changeSequence.incrementAndGet()));
+                return key;
+            });
+        }
+        log.info("로비 방 목록을 불러왔습니다: {}", byOrder.size());
+    }
+
+    private void loadSafely() {
+        try {
+            load();
+        } catch (Exception e) {
+            log.error("로비 방 목록을 불러오지 못했습니다. {}초 뒤 다시 시도합니다.", LOAD_RETRY_SECONDS, e);
+            schedule.schedule(this::loadSafely, LOAD_RETRY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    // 방이 만들어지거나 참여자/준비/상태가 바뀐 뒤 호출한다.
+    public void upsert(Room room) {
+        LobbyRoom updated = put(room);
+        meterRegistry.counter("room.lobby.delta", "type", LobbyDelta.Type.UPSERT.name()).increment();
+        roomMessagePublisher.publishLobbyDelta(LobbyDelta.upsert(updated));
+    }
+
+    public void remove(String roomId) {
+        long[] seq = {-1};
+        // 같은 방의 upsert 와 순서가 섞이지 않도록 방 항목 잠금 안에서 지운다.
+        orderByRoomId.computeIfPresent(roomId, (id, order) -> {
+            byOrder.remove(order);
+            seq[0] = changeSequence.incrementAndGet();
+            return null;
+        });
+        if (seq[0] < 0) {
+            return;
+        }
+        meterRegistry.counter("room.lobby.delta", "type", LobbyDelta.Type.REMOVE.name()).increment();
+        roomMessagePublisher.publishLobbyDelta(LobbyDelta.remove(roomId, seq[0]));
+    }
+
+    // cursor 가 null 이면 첫 페이지. 다음 페이지는 응답의 nextCursor 를 넘긴다.
+    public LobbyPage page(Long cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long seq = changeSequence.get();
+        NavigableMap<Long, LobbyRoom> view = cursor == null
+                ? byOrder.descendingMap()
+                : byOrder.headMap(cursor, false).descendingMap();
+        List<LobbyRoom> rooms = new ArrayList<>(limit);
+        Long last = null;
+        for (Map.Entry<Long, LobbyRoom> entry : view.entrySet()) {
+            if (rooms.size() == limit) {
+                return new LobbyPage(rooms, last, seq);
+            }
+            rooms.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new LobbyPage(rooms, null, seq);
+    }
+
+    public int size() {
+        return byOrder.size();
+    }
+
+    private LobbyRoom put(Room room) {
+        LobbyRoom[] updated = new LobbyRoom[1];
+        orderByRoomId.compute(room.getId(), (id, order) -> {
+            long key = order != null ? order : orderSequence.incrementAndGet();
+            updated[0] = LobbyRoom.of(room, changeSequence.incrementAndGet());
+            byOrder.put(key, updated[0]);
+            return key;
+        });
+        return updated[0];
+    }
+}
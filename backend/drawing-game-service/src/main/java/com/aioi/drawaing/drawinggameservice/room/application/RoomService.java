@@ -3,41 +3,75 @@ package com.aioi.drawaing.drawinggameservice.room.application;
 import com.aioi.drawaing.drawinggameservice.common.response.ApiResponse;
 import com.aioi.drawaing.drawinggameservice.drawing.application.DrawingService;
 import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyPage;
 import com.aioi.drawaing.drawinggameservice.room.application.dto.RoomInfo;
 import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.RoomDirectory;
 import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
 import com.aioi.drawaing.drawinggameservice.room.presentation.dto.CreateRoomRequest;
 import com.aioi.drawaing.drawinggameservice.room.presentation.dto.RoomId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class RoomService {
+    private static final int MAX_CREATE_ATTEMPTS = 3;
 
     private final RoomRepository roomRepository;
     private final DrawingService drawingService;
+    private final RoomDirectory roomDirectory;
+    private final LobbyIndex lobbyIndex;
 
     //Transaction 처리 생각
+    // 코드를 먼저 잡아 두고 방을 저장한다. 저장에 실패하면 코드를 놓아준다.
+    // 다른 노드가 같은 코드를 먼저 저장했으면 고유 인덱스에 걸리므로 새 코드로 다시 만든다.
     public RoomInfo createRoom(CreateRoomRequest createRoomRequest) {
-        Room room = Room.createRoom(createRoomRequest.addRoomParticipantInfo(), createRoomRequest.title());
+        for (int attempt = 1; ; attempt++) {
+            String code = roomDirectory.reserveCode();
+            try {
+                return createRoom(createRoomRequest, code);
+            } catch (DuplicateKeyException e) {
+                roomDirectory.release(code);
+                if (attempt == MAX_CREATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("다른 노드에서 이미 쓰는 방 코드입니다. 새 코드로 다시 만듭니다: {}", code);
+            } catch (RuntimeException e) {
+                roomDirectory.release(code);
+                throw e;
+            }
+        }
+    }
+
+    private RoomInfo createRoom(CreateRoomRequest createRoomRequest, String code) {
+        Room room = Room.createRoom(createRoomRequest.addRoomParticipantInfo(), createRoomRequest.title(), code);
         room.updateParticipantReady(createRoomRequest.addRoomParticipantInfo().memberId());
         roomRepository.save(room);
 
         Session session = drawingService.createSession(room.getId());
 
         room.updateSessionId(session.getId());
-        return new RoomInfo(roomRepository.save( room).getId(), room.getCode(), room.getTitle());
+        roomRepository.save(room);
+        roomDirectory.register(code, room.getId(), room.getTitle(), room.getParticipantSize());
+        lobbyIndex.upsert(room);
+        return new RoomInfo(room.getId(), room.getCode(), room.getTitle());
     }
 
     public RoomId findRoomByCode(String code) {
-        Room room =roomRepository.findByCode(code).orElseThrow(()->{
+        RoomDirectory.Entry room = roomDirectory.find(code);
+        if (room == null) {
             log.error("code에 해당하는 room이 없습니다.");
-            return new RuntimeException("room이 없습니다.");
-        });
-        return new RoomId(room.getId(), room.getParticipantSize(), room.getTitle());
+            throw new RuntimeException("room이 없습니다.");
+        }
+        return new RoomId(room.roomId(), room.participantCount(), room.title());
+    }
+
+    public LobbyPage findLobbyRooms(Long cursor, int size) {
+        return lobbyIndex.page(cursor, size);
     }
 
 }
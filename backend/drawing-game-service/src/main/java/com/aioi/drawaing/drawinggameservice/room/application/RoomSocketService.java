@@ -1,25 +1,27 @@
 package com.aioi.drawaing.drawinggameservice.room.application;
 
+import com.aioi.drawaing.drawinggameservice.common.socket.RoomLaneExecutor;
 import com.aioi.drawaing.drawinggameservice.drawing.application.DrawingService;
+import com.aioi.drawaing.drawinggameservice.drawing.application.GameClock;
 import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
 import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.RoomDelta;
 import com.aioi.drawaing.drawinggameservice.room.application.dto.RoomStartInfo;
 import com.aioi.drawaing.drawinggameservice.room.domain.Room;
 import com.aioi.drawaing.drawinggameservice.room.domain.RoomParticipant;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.RoomDirectory;
 import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import com.aioi.drawaing.drawinggameservice.room.presentation.RoomMessagePublisher;
+import com.aioi.drawaing.drawinggameservice.room.presentation.dto.RoomSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -31,6 +33,15 @@ public class RoomSocketService {
     private final RoomRepository repository;
     private final DrawingService drawingService;
     private final RoomMessagePublisher roomMessagePublisher;
+    private final GameClock gameClock;
+    private final RoomLaneExecutor roomLaneExecutor;
+    private final RoomDirectory roomDirectory;
+    private final LobbyIndex lobbyIndex;
+    private static final long GAME_START_DELAY_SECONDS = 7;
+    private static final int MAX_PARTICIPANTS = 4;
+
+    @Value("${game.room.state-mode:FULL}")
+    private RoomStateMode roomStateMode = RoomStateMode.FULL;
 
 //    public void createRoom(String title, Long hostId) {
 //        Room room = Room.builder()
@@ -44,18 +55,21 @@ public class RoomSocketService {
 //        broadcastRoomState(room);
 //    }
 
+    // 정원/중복 검사와 추가를 Mongo 조건부 갱신 한 번으로 처리해 동시에 들어와도 정원을 넘지 않는다.
     public void joinRoom(String roomId, AddRoomParticipantInfo addRoomParticipantInfo) {
-        Room room = getRoom(roomId);
-
-        validateJoinRoom(room, addRoomParticipantInfo.memberId());// 방 유효성 체크
-
-//        System.out.println(addRoomParticipantInfo.memberId());
+        Long memberId = addRoomParticipantInfo.memberId();
+        RoomParticipant participant = RoomParticipant.createRoomParticipant(
+                addRoomParticipantInfo.nickname(), addRoomParticipantInfo.characterUrl());// 초기 준비 상태는 false
 
-        room.addParticipant(addRoomParticipantInfo);// 사용자를 방에 추가 (초기 준비 상태는 false)
-        room.updateHostIfNeeded();// 방장이 없다면 새로운 방장 선정
-        repository.save(room);
+        Room room = repository.addParticipant(roomId, memberId, participant, MAX_PARTICIPANTS);
+        if (room == null) {
+            rejectJoin(roomId, memberId);
+        }
+        List<RoomDelta> deltas = new ArrayList<>(2);
+        deltas.add(RoomDelta.joined(room, memberId));
+        room = electHostIfNeeded(room, deltas);// 방장이 없다면 새로운 방장 선정
 
-        roomMessagePublisher.publishRoomState(room);
+        publishRoomChanged(room, deltas);
     }
 
     public void startGame(String roomId, Long memberId) {
@@ -79,53 +93,109 @@ public class RoomSocketService {
 
     public void toggleReadyStatus(String roomId, Long memberId) {
         Room room = getRoom(roomId);
+        RoomParticipant participant = room.getParticipants().get(memberId);
+        if (participant == null) {
+            log.error("방에 참여하지 않은 사용자입니다.");
+            throw new RuntimeException("방에 참여하지 않은 사용자입니다.");
+        }
 
-        room.updateParticipantReady(memberId);
-        repository.save(room);
-
-        roomMessagePublisher.publishRoomState(room);
+        Room updated = repository.updateReady(roomId, memberId, participant.isReady(), !participant.isReady());
+        if (updated == null) {
+            return; // 그 사이 같은 사용자의 다른 요청이 먼저 바꿨다. 그 요청이 상태를 보낸다.
+        }
+        publishRoomChanged(updated, List.of(RoomDelta.ready(updated, memberId, updated.getParticipants().get(memberId).isReady())));
     }
 
     public void leaveRoom(String roomId, Long userId) {
-        Room room = getRoom(roomId);
-        room.getParticipants().remove(userId); // 사용자를 방에서 제거
+        List<RoomDelta> deltas = new ArrayList<>(2);
+        Room room = repository.removeParticipant(roomId, userId);
+        if (room == null) {
+            room = getRoom(roomId); // 이미 나간 사용자라면 지울 것이 없다.
+        } else {
+            deltas.add(RoomDelta.left(room, userId));
+        }
         if (room.getParticipants().isEmpty()) { // 방에 남은 사용자가 없으면 방 삭제
-            repository.deleteById(roomId);
+            // 그 사이 누가 들어왔다면 지우지 않는다. 들어온 쪽이 상태를 보낸다.
+            if (repository.deleteIfEmpty(roomId)) {
+                gameClock.cancelTransition(roomId); // 시작 대기 중이었다면 예약도 취소
+                roomDirectory.remove(roomId); // 방 코드도 다시 쓸 수 있게 놓아준다.
+                lobbyIndex.remove(roomId);
+                drawingService.discardSession(room.getSessionId()); // 다음 게임용으로 만들어 둔 세션은 시작되지 않는다.
+            }
             return;
         }
-        if (Objects.equals(userId, room.getHostId())) { // 방장이 나갔다면 새로운 방장 선정
-            Long newHostId = room.getParticipants().keySet().iterator().next();
-            room.updateHostId(newHostId);
-        }
-        repository.save(room);
+        room = electHostIfNeeded(room, deltas);// 방장이 나갔다면 새로운 방장 선정
 
-        roomMessagePublisher.publishRoomState(room);
+        publishRoomChanged(room, deltas);
     }
 
     public void transitionToGame(String roomId, Room room) {
-        roomMessagePublisher.publishRoomStart("/topic/room.wait/"+roomId, new RoomStartInfo(LocalDateTime.now().plusSeconds(5)));
-
         Session session = drawingService.createSession(roomId);
 
+        // 준비 확인 뒤에 누가 들어오거나 준비를 풀었다면 시작하지 않는다.
+        Room started = repository.startGame(roomId, room.getVersion(), session.getId());
+        if (started == null) {
+            log.error("방 상태가 바뀌어 게임을 시작하지 못했습니다: {}", roomId);
+            throw new RuntimeException("방 상태가 바뀌어 게임을 시작하지 못했습니다.");
+        }
+
+        roomMessagePublisher.publishRoomStart("/topic/room.wait/"+roomId, new RoomStartInfo(LocalDateTime.now().plusSeconds(5)));
+
 //        log.info("test{}", room.getAddRoomParticipantInfos());
         // 게임 시작 로직
         scheduleGameStart(roomId, room.getSessionId(), room.getAddRoomParticipantInfos());
 //        drawingService.startSession(roomId, room.getSessionId(), room.getAddRoomParticipantInfos());
 
-        room.updateSessionId(session.getId());
-        room.deleteParticipants();
-        repository.save(room);
+        roomDirectory.updateParticipants(roomId, started.getParticipantSize());
+        lobbyIndex.upsert(started);
+    }
+
+    // 방장이 방에 없으면 가장 먼저 들어온 참여자를 세운다. 다른 요청이 먼저 바꿨다면 그 결과를 따른다.
+    private Room electHostIfNeeded(Room room, List<RoomDelta> deltas) {
+        if (room.getParticipants().isEmpty() || room.getParticipants().containsKey(room.getHostId())) {
+            return room;
+        }
+        Long candidate = room.getParticipants().keySet().iterator().next();
+        Room elected = repository.electHost(room.getId(), room.getHostId(), candidate);
+        if (elected == null) {
+            return room;
+        }
+        deltas.add(RoomDelta.host(elected));
+        return elected;
+    }
+
+    // 조건부 갱신이 실패한 이유만 다시 읽어서 알려 준다.
+    private void rejectJoin(String roomId, Long memberId) {
+        validateJoinRoom(getRoom(roomId), memberId);
+        log.error("방에 참여하지 못했습니다: {}", roomId);
+        throw new RuntimeException("방에 참여하지 못했습니다.");
+    }
+
+    public RoomSnapshot snapshot(String roomId) {
+        return RoomSnapshot.of(getRoom(roomId));
+    }
+
+    private void publishRoomChanged(Room room, List<RoomDelta> deltas) {
+        roomDirectory.updateParticipants(room.getId(), room.getParticipantSize());
+        lobbyIndex.upsert(room);
+
+        if (roomStateMode == RoomStateMode.DELTA) {
+            for (RoomDelta delta : deltas) {
+                roomMessagePublisher.publishRoomDelta(room.getId(), delta);
+            }
+            return;
+        }
+        roomMessagePublisher.publishRoomState(room);
     }
 
+    // 게임 시계의 공유 휠에 예약하고, 시작은 방의 인바운드 lane 에서 처리한다.
     private void scheduleGameStart(String roomId, String sessionId, List<AddRoomParticipantInfo> addParticipantInfos) {
-        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-        scheduler.schedule(() -> {
-            drawingService.startSession(roomId, sessionId, addParticipantInfos);
-        }, 7, TimeUnit.SECONDS);
+        gameClock.scheduleTransition(roomId, GAME_START_DELAY_SECONDS, () -> roomLaneExecutor.execute(roomId,
+                () -> drawingService.startSession(roomId, sessionId, addParticipantInfos)));
     }
 
     private void validateJoinRoom(Room room, Long memberId) {
-        if (room.getParticipants().size() >= 4) {
+        if (room.getParticipants().size() >= MAX_PARTICIPANTS) {
             log.error("방이 이미 꽉 찼습니다.");
             throw new RuntimeException("방이 이미 꽉 찼습니다.");
         }
@@ -0,0 +1,9 @@
+package com.aioi.drawaing.drawinggameservice.room.application;
+
+// 대기방 상태를 클라이언트에 알리는 방식
+public enum RoomStateMode {
+    // 바뀔 때마다 /topic/room/{roomId} 로 참여자 전체를 보낸다.
+    FULL,
+    // 바뀐 것만 version 과 함께 /topic/room.delta/{roomId} 로 보내고, 전체 상태는 /app/room.sync/{roomId} 구독 때만 준다.
+    DELTA
+}
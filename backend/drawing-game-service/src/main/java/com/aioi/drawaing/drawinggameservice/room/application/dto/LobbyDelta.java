@@ -0,0 +1,17 @@
+package com.aioi.drawaing.drawinggameservice.room.application.dto;
+
+// /topic/lobby 로 보내는 변경분. REMOVE 는 room 이 null 이다.
+public record LobbyDelta(Type type, String roomId, LobbyRoom room, long seq) {
+
+    public enum Type {
+        UPSERT, REMOVE
+    }
+
+    public static LobbyDelta upsert(LobbyRoom room) {
+        return new LobbyDelta(Type.UPSERT, room.roomId(), room, room.seq());
+    }
+
+    public static LobbyDelta remove(String roomId, long seq) {
+        return new LobbyDelta(Type.REMOVE, roomId, null, seq);
+    }
+}
@@ -0,0 +1,8 @@
+package com.aioi.drawaing.drawinggameservice.room.application.dto;
+
+import java.util.List;
+
+// seq 는 페이지를 만든 시점의 마지막 변경 번호. 클라이언트는 이보다 큰 delta 만 적용하면 된다.
+// nextCursor 가 null 이면 마지막 페이지다.
+public record LobbyPage(List<LobbyRoom> rooms, Long nextCursor, long seq) {
+}
@@ -0,0 +1,15 @@
+package com.aioi.drawaing.drawinggameservice.room.application.dto;
+
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.domain.RoomParticipant;
+
+// 로비 목록에 보이는 방 요약. seq 는 이 요약을 만든 변경의 번호라 같은 방이면 큰 쪽이 최신이다.
+public record LobbyRoom(String roomId, String title, Long hostId, String status,
+                        long participantCount, long readyCount, long seq) {
+
+    public static LobbyRoom of(Room room, long seq) {
+        long readyCount = room.getParticipants().values().stream().filter(RoomParticipant::isReady).count();
+        return new LobbyRoom(room.getId(), room.getTitle(), room.getHostId(), room.getStatus(),
+                room.getParticipantSize(), readyCount, seq);
+    }
+}
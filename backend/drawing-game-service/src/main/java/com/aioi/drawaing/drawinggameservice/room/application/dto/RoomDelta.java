@@ -0,0 +1,33 @@
+package com.aioi.drawaing.drawinggameservice.room.application.dto;
+
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.domain.RoomParticipant;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// 대기방 변경분. version 은 이 변경을 반영한 방의 version 이라 직전에 받은 것보다 정확히 1 커야 한다.
+// 더 크게 건너뛰면 놓친 변경이 있으니 /app/room.sync/{roomId} 로 스냅샷을 다시 받는다.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomDelta(Type type, Long memberId, RoomParticipant participant, Boolean ready, Long hostId, long version) {
+
+    public enum Type {
+        JOINED, LEFT, READY,
+        // 새 방장은 항상 준비 상태가 된다.
+        HOST
+    }
+
+    public static RoomDelta joined(Room room, Long memberId) {
+        return new RoomDelta(Type.JOINED, memberId, room.getParticipants().get(memberId), null, null, room.currentVersion());
+    }
+
+    public static RoomDelta left(Room room, Long memberId) {
+        return new RoomDelta(Type.LEFT, memberId, null, null, null, room.currentVersion());
+    }
+
+    public static RoomDelta ready(Room room, Long memberId, boolean ready) {
+        return new RoomDelta(Type.READY, memberId, null, ready, null, room.currentVersion());
+    }
+
+    public static RoomDelta host(Room room) {
+        return new RoomDelta(Type.HOST, null, null, null, room.getHostId(), room.currentVersion());
+    }
+}
@@ -24,15 +24,18 @@ public class Room {
     private String code;
     private String sessionId;
     private String status;
+    // 참여자/방장/상태가 바뀔 때마다 1 씩 오른다.
+    private Long version;
     @Builder.Default
     private Map<Long, RoomParticipant> participants = new LinkedHashMap<>();
 
-    public static Room createRoom(AddRoomParticipantInfo addRoomParticipantInfo, String title) {
+    public static Room createRoom(AddRoomParticipantInfo addRoomParticipantInfo, String title, String code) {
         Room room = Room.builder()
             .title(title)
             .hostId(addRoomParticipantInfo.memberId())
-            .code(RandomCodeGenerator.generateRandomCode(6))
+            .code(code)
             .status(RoomStatus.READY.name())
+            .version(0L)
             .build();
         room.getParticipants().put(addRoomParticipantInfo.memberId(), RoomParticipant.createRoomParticipant(addRoomParticipantInfo.nickname(), addRoomParticipantInfo.characterUrl()));
         return room;
@@ -74,6 +77,11 @@ public class Room {
         this.participants.get(hostId).updateReady();
     }
 
+    // version 이 없던 예전 문서는 0 으로 본다.
+    public long currentVersion() {
+        return version == null ? 0 : version;
+    }
+
     public long getParticipantSize(){
         return this.participants.size();
     }
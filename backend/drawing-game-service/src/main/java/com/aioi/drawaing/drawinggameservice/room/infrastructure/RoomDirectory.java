@@ -0,0 +1,129 @@
+package com.aioi.drawaing.drawinggameservice.room.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.room.domain.RandomCodeGenerator;
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 코드 -> 방 정보 인덱스. 코드로 입장할 때 Mongo 를 조회하지 않고 해시 조회로 끝낸다.
+ * 코드는 방을 저장하기 전에 putIfAbsent 로 먼저 잡기 때문에 같은 코드가 두 방에 붙을 수 없고,
+ * 방이 삭제되면 다시 쓸 수 있게 놓아준다.
+ * 노드 로컬 인덱스이므로 다른 노드에서 만든 방은 처음 한 번만 Mongo 에서 찾아 채운다.
+ * 기존 방은 애플리케이션이 뜬 뒤 백그라운드에서 불러오고, Mongo 에 닿지 않으면 잠시 뒤 다시 시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomDirectory {
+    private static final int CODE_LENGTH = 6;
+    private static final int MAX_RESERVE_ATTEMPTS = 16;
+    private static final Entry PENDING = new Entry(null, null, 0);
+    private static final long LOAD_RETRY_SECONDS = 10;
+
+    private final RoomRepository roomRepository;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService schedule;
+    private final Map<String, Entry> byCode = new ConcurrentHashMap<>();
+    private final Map<String, String> codeByRoomId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("room.directory.size", byCode, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnReady() {
+        schedule.execute(this::loadSafely);
+    }
+
+    // 불러오는 동안 이미 등록/갱신된 코드는 덮어쓰지 않는다.
+    public void load() {
+        for (Room room : roomRepository.findAll()) {
+            if (room.getCode() != null && byCode.putIfAbsent(room.getCode(),
+                    new Entry(room.getId(), room.getTitle(), room.getParticipantSize())) == null) {
+                codeByRoomId.put(room.getId(), room.getCode());
+            }
+        }
+        log.info("방 코드 인덱스를 불러왔습니다: {}", byCode.size());
+    }
+
+    private void loadSafely() {
+        try {
+            roomRepository.ensureCodeIndex();
+            load();
+        } catch (Exception e) {
+            log.error("방 코드 인덱스를 불러오지 못했습니다. {}초 뒤 다시 시도합니다.", LOAD_RETRY_SECONDS, e);
+            schedule.schedule(this::loadSafely, LOAD_RETRY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    // 아직 아무 방도 쓰지 않는 코드를 하나 잡는다. 방을 저장한 뒤 register, 실패하면 release 를 불러야 한다.
+    public String reserveCode() {
+        for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+            String code = RandomCodeGenerator.generateRandomCode(CODE_LENGTH);
+            if (byCode.putIfAbsent(code, PENDING) == null) {
+                return code;
+            }
+            meterRegistry.counter("room.directory.code.collision").increment();
+        }
+        throw new IllegalStateException("방 코드를 만들지 못했습니다.");
+    }
+
+    public void register(String code, String roomId, String title, long participantCount) {
+        byCode.put(code, new Entry(roomId, title, participantCount));
+        codeByRoomId.put(roomId, code);
+    }
+
+    public void release(String code) {
+        byCode.remove(code, PENDING);
+    }
+
+    // 인덱스에 없으면 다른 노드에서 만든 방일 수 있으니 Mongo 에서 찾는다.
+    // 그 방의 인원 변경/삭제는 이 노드로 오지 않으므로 캐시하지 않고 매번 조회한다.
+    public Entry find(String code) {
+        Entry entry = byCode.get(code);
+        if (entry == PENDING) {
+            return null;
+        }
+        if (entry != null) {
+            return entry;
+        }
+        return roomRepository.findByCode(code)
+                .map(room -> new Entry(room.getId(), room.getTitle(), room.getParticipantSize()))
+                .orElse(null);
+    }
+
+    public void updateParticipants(String roomId, long participantCount) {
+        String code = codeByRoomId.get(roomId);
+        if (code != null) {
+            byCode.computeIfPresent(code, (key, entry) -> new Entry(entry.roomId(), entry.title(), participantCount));
+        }
+    }
+
+    public void remove(String roomId) {
+        String code = codeByRoomId.remove(roomId);
+        if (code != null) {
+            byCode.remove(code);
+        }
+    }
+
+    public int size() {
+        return byCode.size();
+    }
+
+    public record Entry(String roomId, String title, long participantCount) {
+    }
+}
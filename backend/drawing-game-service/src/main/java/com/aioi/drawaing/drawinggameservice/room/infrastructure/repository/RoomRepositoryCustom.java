@@ -0,0 +1,27 @@
+package com.aioi.drawaing.drawinggameservice.room.infrastructure.repository;
+
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.domain.RoomParticipant;
+
+// 방 문서 전체를 다시 쓰지 않고 참여자 단위로 조건부 갱신하는 연산.
+// 조건이 맞지 않으면 아무것도 바꾸지 않고 null(또는 false)을 반환한다.
+public interface RoomRepositoryCustom {
+    // 아직 참여하지 않았고 정원이 남아 있을 때만 넣는다.
+    Room addParticipant(String roomId, Long memberId, RoomParticipant participant, int capacity);
+
+    // 준비 상태가 expected 일 때만 ready 로 바꾼다.
+    Room updateReady(String roomId, Long memberId, boolean expected, boolean ready);
+
+    Room removeParticipant(String roomId, Long memberId);
+
+    // 방장이 아직 staleHostId 이고 후보가 방에 남아 있을 때만 후보를 방장으로 세운다.
+    Room electHost(String roomId, Long staleHostId, Long newHostId);
+
+    // 준비 확인 뒤로 방이 바뀌지 않았을 때만 참여자를 비우고 게임 중으로 바꾼다.
+    Room startGame(String roomId, Long expectedVersion, String sessionId);
+
+    boolean deleteIfEmpty(String roomId);
+
+    // 방 코드는 노드마다 따로 잡으므로 노드 사이의 중복은 rooms.code 고유 인덱스로 막는다.
+    void ensureCodeIndex();
+}
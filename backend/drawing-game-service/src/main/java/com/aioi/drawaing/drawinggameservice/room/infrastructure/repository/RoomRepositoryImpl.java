@@ -0,0 +1,98 @@
+package com.aioi.drawaing.drawinggameservice.room.infrastructure.repository;
+
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.domain.RoomParticipant;
+import com.aioi.drawaing.drawinggameservice.room.domain.RoomStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ObjectOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * findById -> 수정 -> save 로 participants 맵을 통째로 덮어쓰면 동시에 들어온 입장이 정원 검사를
+ * 함께 통과하거나 서로의 변경을 지운다. 정원, 중복 참여, 방장 여부를 조건으로 건 findAndModify 한 번으로
+ * 바꾸고, 바뀔 때마다 version 을 올려 준비 확인 뒤의 변경을 알아챌 수 있게 한다.
+ * 조건이 맞지 않으면 다시 시도하지 않고 호출한 쪽에 null 을 돌려준다.
+ */
+@RequiredArgsConstructor
+public class RoomRepositoryImpl implements RoomRepositoryCustom {
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Room addParticipant(String roomId, Long memberId, RoomParticipant participant, int capacity) {
+        Query query = new Query(Criteria.where("_id").is(roomId)
+                .and(participantField(memberId, null)).exists(false)
+                .andOperator(Criteria.expr(ComparisonOperators.valueOf(
+                        ArrayOperators.Size.lengthOfArray(ObjectOperators.ObjectToArray.valueOfToArray("participants"))
+                ).lessThanValue(capacity))));
+        Update update = new Update()
+                .set(participantField(memberId, null), participant)
+                .set("status", RoomStatus.READY.name()) // 게임이 끝나고 다시 들어오면 대기방으로 돌아온다.
+                .inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Room.class);
+    }
+
+    @Override
+    public Room updateReady(String roomId, Long memberId, boolean expected, boolean ready) {
+        String isReady = participantField(memberId, "isReady");
+        Query query = new Query(Criteria.where("_id").is(roomId).and(isReady).is(expected));
+        return mongoTemplate.findAndModify(query, new Update().set(isReady, ready).inc("version", 1), RETURN_NEW, Room.class);
+    }
+
+    @Override
+    public Room removeParticipant(String roomId, Long memberId) {
+        String participant = participantField(memberId, null);
+        Query query = new Query(Criteria.where("_id").is(roomId).and(participant).exists(true));
+        return mongoTemplate.findAndModify(query, new Update().unset(participant).inc("version", 1), RETURN_NEW, Room.class);
+    }
+
+    @Override
+    public Room electHost(String roomId, Long staleHostId, Long newHostId) {
+        Query query = new Query(Criteria.where("_id").is(roomId)
+                .and("hostId").is(staleHostId)
+                .and(participantField(newHostId, null)).exists(true));
+        Update update = new Update()
+                .set("hostId", newHostId)
+                .set(participantField(newHostId, "isReady"), true)
+                .inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Room.class);
+    }
+
+    @Override
+    public Room startGame(String roomId, Long expectedVersion, String sessionId) {
+        Query query = new Query(Criteria.where("_id").is(roomId).and("version").is(expectedVersion));
+        Update update = new Update()
+                .set("sessionId", sessionId)
+                .set("participants", new Document())
+                .unset("hostId")
+                .set("status", RoomStatus.PLAYING.name())
+                .inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Room.class);
+    }
+
+    @Override
+    public boolean deleteIfEmpty(String roomId) {
+        Query query = new Query(Criteria.where("_id").is(roomId).and("participants").is(new Document()));
+        return mongoTemplate.remove(query, Room.class).getDeletedCount() == 1;
+    }
+
+    @Override
+    public void ensureCodeIndex() {
+        mongoTemplate.indexOps(Room.class)
+                .ensureIndex(new Index().on("code", Sort.Direction.ASC).unique().sparse());
+    }
+
+    private String participantField(Long memberId, String field) {
+        return field == null ? "participants." + memberId : "participants." + memberId + "." + field;
+    }
+}
@@ -0,0 +1,25 @@
+package com.aioi.drawaing.drawinggameservice.room.presentation;
+
+import com.aioi.drawaing.drawinggameservice.common.code.SuccessStatus;
+import com.aioi.drawaing.drawinggameservice.common.response.ApiResponse;
+import com.aioi.drawaing.drawinggameservice.room.application.RoomService;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// 첫 페이지를 받은 뒤에는 /topic/lobby 의 delta 중 페이지 seq 보다 큰 것만 적용한다.
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/drawing/lobby")
+@RestController
+public class LobbyController {
+    private final RoomService roomService;
+
+    @GetMapping
+    public ApiResponse<LobbyPage> findLobbyRooms(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                 @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ApiResponse.onSuccess(SuccessStatus.LOBBY_FOUND, roomService.findLobbyRooms(cursor, size));
+    }
+}
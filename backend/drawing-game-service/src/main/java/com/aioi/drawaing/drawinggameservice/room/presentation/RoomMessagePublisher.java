@@ -1,5 +1,8 @@
 package com.aioi.drawaing.drawinggameservice.room.presentation;
 
+import com.aioi.drawaing.drawinggameservice.common.socket.PreparedMessagePublisher;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyDelta;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.RoomDelta;
 import com.aioi.drawaing.drawinggameservice.room.application.dto.RoomStartInfo;
 import com.aioi.drawaing.drawinggameservice.room.domain.Room;
 import com.aioi.drawaing.drawinggameservice.room.presentation.dto.RoomInfoResponse;
@@ -13,16 +16,25 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RoomMessagePublisher {
     private final SimpMessagingTemplate simpMessagingTemplate;
+    private final PreparedMessagePublisher preparedMessagePublisher;
 
     public void publishRoomState(Room room) {
-        simpMessagingTemplate.convertAndSend(
+        preparedMessagePublisher.publish(
                 "/topic/room/" + room.getId(),
                 new RoomInfoResponse(room.getSessionId(), room.getHostId(), room.getParticipants())
         );
     }
 
+    public void publishRoomDelta(String roomId, RoomDelta roomDelta) {
+        preparedMessagePublisher.publish("/topic/room.delta/" + roomId, roomDelta);
+    }
+
     public void publishRoomStart(String topic, RoomStartInfo roomStartInfo) {
-        simpMessagingTemplate.convertAndSend(topic, roomStartInfo);
+        preparedMessagePublisher.publish(topic, roomStartInfo);
+    }
+
+    public void publishLobbyDelta(LobbyDelta lobbyDelta) {
+        preparedMessagePublisher.publish("/topic/lobby", lobbyDelta);
     }
 
     public void publishTemp(String topic, String message){
@@ -3,6 +3,7 @@ package com.aioi.drawaing.drawinggameservice.room.presentation;
 import com.aioi.drawaing.drawinggameservice.room.application.RoomSocketService;
 import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
 import com.aioi.drawaing.drawinggameservice.room.presentation.dto.RoomRequest;
+import com.aioi.drawaing.drawinggameservice.room.presentation.dto.RoomSnapshot;
 import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 @Slf4j
@@ -51,6 +53,12 @@ public class RoomSocketController {
         roomSocketService.leaveRoom(roomId, request.memberId());
     }
 
+    // 대기방에 들어올 때나 delta 의 version 이 건너뛰었을 때 /app/room.sync/{roomId} 를 구독해 전체 상태를 한 번 받는다.
+    @SubscribeMapping("/room.sync/{roomId}")
+    public RoomSnapshot sync(@DestinationVariable String roomId) {
+        return roomSocketService.snapshot(roomId);
+    }
+
     @MessageMapping("/temp/{roomId}")
     public void temp(@DestinationVariable String roomId, @Payload String request) {
         roomSocketService.temp(roomId, request);
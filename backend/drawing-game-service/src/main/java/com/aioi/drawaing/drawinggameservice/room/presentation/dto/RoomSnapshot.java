@@ -0,0 +1,14 @@
+package com.aioi.drawaing.drawinggameservice.room.presentation.dto;
+
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.domain.RoomParticipant;
+
+import java.util.Map;
+
+// 대기방 전체 상태. version 이후의 delta 만 이어서 적용하면 된다.
+public record RoomSnapshot(String sessionId, Long hostId, Map<Long, RoomParticipant> participants, long version) {
+
+    public static RoomSnapshot of(Room room) {
+        return new RoomSnapshot(room.getSessionId(), room.getHostId(), room.getParticipants(), room.currentVersion());
+    }
+}
@@ -0,0 +1,82 @@
+package com.aioi.drawaing.drawinggameservice.chat.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.chat.domain.ChatMessage;
+import com.aioi.drawaing.drawinggameservice.chat.presentation.dto.ChatMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ChatMessageBatchWriterTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ScheduledExecutorService schedule = mock(ScheduledExecutorService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("batch 크기만큼 쌓이면 insertMany 한 번으로 저장한다.")
+    public void 배치_저장_성공_유무() {
+        //given
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(schedule).execute(any(Runnable.class));
+        ChatMessageBatchWriter writer = new ChatMessageBatchWriter(mongoTemplate, schedule, meterRegistry, 10, 3, 100, ChatOverflowPolicy.DROP);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            writer.enqueue(message(i));
+        }
+
+        //then
+        verify(mongoTemplate).insert(anyList(), eq(ChatMessage.class));
+        assertThat(writer.queueDepth()).isZero();
+        assertThat(meterRegistry.get("chat.persist.batch.size").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 DROP 정책은 기록을 버리고 개수를 센다.")
+    public void 대기열_초과_버림_성공_유무() {
+        //given
+        ChatMessageBatchWriter writer = new ChatMessageBatchWriter(mongoTemplate, schedule, meterRegistry, 2, 100, 100, ChatOverflowPolicy.DROP);
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(message(i));
+        }
+
+        //then
+        verify(mongoTemplate, never()).insert(anyList(), eq(ChatMessage.class));
+        assertThat(writer.queueDepth()).isEqualTo(2);
+        assertThat(meterRegistry.get("chat.persist.dropped").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 CALLER_RUNS 정책은 호출 스레드에서 바로 저장한다.")
+    public void 대기열_초과_직접저장_성공_유무() {
+        //given
+        ChatMessageBatchWriter writer = new ChatMessageBatchWriter(mongoTemplate, schedule, meterRegistry, 1, 100, 100, ChatOverflowPolicy.CALLER_RUNS);
+
+        //when
+        writer.enqueue(message(0));
+        writer.enqueue(message(1));
+
+        //then
+        verify(mongoTemplate).insert(anyList(), eq(ChatMessage.class));
+        assertThat(writer.queueDepth()).isEqualTo(1);
+    }
+
+    private ChatMessage message(int idx) {
+        return ChatMessage.createMessage("session", new ChatMessageDto(1L, "메시지" + idx, null));
+    }
+}
@@ -0,0 +1,92 @@
+package com.aioi.drawaing.drawinggameservice.common.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    @DisplayName("지연 시간이 지난 틱에서 작업이 실행된다.")
+    public void 지연_시간_이후_실행_성공_유무() {
+        //given
+        HashedTimingWheel wheel = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger fired = new AtomicInteger();
+        wheel.newTimeout(fired::incrementAndGet, 300, TimeUnit.MILLISECONDS);
+
+        //when
+        advance(wheel, 3);
+        int beforeDeadline = fired.get();
+        advance(wheel, 1);
+
+        //then
+        assertThat(beforeDeadline).isZero();
+        assertThat(fired.get()).isEqualTo(1);
+        assertThat(wheel.activeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("휠 크기보다 긴 지연 시간도 라운드를 거쳐 정확한 틱에 실행된다.")
+    public void 휠_한바퀴_이상_지연_성공_유무() {
+        //given
+        HashedTimingWheel wheel = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger fired = new AtomicInteger();
+        wheel.newTimeout(fired::incrementAndGet, 2, TimeUnit.SECONDS);
+
+        //when
+        advance(wheel, 20);
+        int beforeDeadline = fired.get();
+        advance(wheel, 1);
+
+        //then
+        assertThat(beforeDeadline).isZero();
+        assertThat(fired.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("취소한 작업은 실행되지 않는다.")
+    public void 작업_취소_성공_유무() {
+        //given
+        HashedTimingWheel wheel = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger fired = new AtomicInteger();
+        HashedTimingWheel.WheelTimeout timeout = wheel.newTimeout(fired::incrementAndGet, 200, TimeUnit.MILLISECONDS);
+        advance(wheel, 1);
+
+        //when
+        boolean cancelled = timeout.cancel();
+        advance(wheel, 10);
+
+        //then
+        assertThat(cancelled).isTrue();
+        assertThat(fired.get()).isZero();
+        assertThat(wheel.activeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("틱 리스너는 그 틱의 만료 작업을 모두 실행한 뒤 한 번 호출된다.")
+    public void 틱_리스너_호출_성공_유무() {
+        //given
+        HashedTimingWheel wheel = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 8);
+        List<String> events = new ArrayList<>();
+        wheel.newTimeout(() -> events.add("task1"), 0, TimeUnit.MILLISECONDS);
+        wheel.newTimeout(() -> events.add("task2"), 0, TimeUnit.MILLISECONDS);
+        wheel.addTickListener(() -> events.add("tick"));
+
+        //when
+        advance(wheel, 2);
+
+        //then
+        assertThat(events).containsExactly("task1", "task2", "tick", "tick");
+    }
+
+    private void advance(HashedTimingWheel wheel, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.aioi.drawaing.drawinggameservice.common.schedule;
+
+// 다른 패키지의 테스트가 휠 스레드 없이 틱을 직접 넘길 때 쓴다.
+public final class TimingWheelTicker {
+    private TimingWheelTicker() {
+    }
+
+    public static void advance(HashedTimingWheel wheel, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExactDestinationSubscriptionRegistryTest {
+    private static final String TIMER = "/topic/session.timer/room/session";
+
+    private final ExactDestinationSubscriptionRegistry registry = new ExactDestinationSubscriptionRegistry();
+
+    @Test
+    @DisplayName("같은 목적지 구독은 한 맵으로 찾고, 구독이 바뀌지 않으면 같은 맵을 다시 돌려준다.")
+    public void 목적지_구독_조회_성공_유무() {
+        //given
+        registry.registerSubscription(subscribe("ws1", "sub1", TIMER));
+        registry.registerSubscription(subscribe("ws2", "sub1", TIMER));
+        registry.registerSubscription(subscribe("ws2", "sub2", "/topic/session.draw/room/session"));
+
+        //when
+        MultiValueMap<String, String> first = registry.findSubscriptions(publish(TIMER));
+        MultiValueMap<String, String> second = registry.findSubscriptions(publish(TIMER));
+
+        //then
+        assertThat(first).containsOnlyKeys("ws1", "ws2");
+        assertThat(first.get("ws2")).containsExactly("sub1");
+        assertThat(second).isSameAs(first);
+        assertThat(registry.findSubscriptions(publish("/topic/session.timer/room/other"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("구독 해지와 연결 종료 뒤에는 목적지 항목이 남지 않는다.")
+    public void 구독_해지_정리_성공_유무() {
+        //given
+        registry.registerSubscription(subscribe("ws1", "sub1", TIMER));
+        registry.registerSubscription(subscribe("ws2", "sub1", TIMER));
+        registry.registerSubscription(subscribe("ws2", "sub2", "/topic/session.draw/room/session"));
+
+        //when
+        registry.unregisterSubscription(unsubscribe("ws1", "sub1"));
+        MultiValueMap<String, String> remaining = registry.findSubscriptions(publish(TIMER));
+        registry.unregisterAllSubscriptions("ws2");
+
+        //then
+        assertThat(remaining).containsOnlyKeys("ws2");
+        assertThat(registry.findSubscriptions(publish(TIMER))).isEmpty();
+        assertThat(registry.destinationCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("와일드카드 구독은 기본 저장소로 찾아 정확한 목적지 구독과 합친다.")
+    public void 패턴_구독_병합_성공_유무() {
+        //given
+        registry.registerSubscription(subscribe("ws1", "sub1", TIMER));
+        registry.registerSubscription(subscribe("admin", "all", "/topic/session.timer/**"));
+
+        //when
+        MultiValueMap<String, String> found = registry.findSubscriptions(publish(TIMER));
+        registry.unregisterAllSubscriptions("admin");
+
+        //then
+        assertThat(found).containsOnlyKeys("ws1", "admin");
+        assertThat(found.get("admin")).isEqualTo(List.of("all"));
+        assertThat(registry.findSubscriptions(publish(TIMER))).containsOnlyKeys("ws1");
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> publish(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
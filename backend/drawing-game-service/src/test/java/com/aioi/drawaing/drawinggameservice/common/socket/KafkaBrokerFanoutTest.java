@@ -0,0 +1,131 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class KafkaBrokerFanoutTest {
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpMessagingTemplate simpMessagingTemplate = mock(SimpMessagingTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KafkaBrokerFanout fanout = new KafkaBrokerFanout("fanout", 2, simpMessagingTemplate, kafkaTemplate, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        fanout.stop();
+    }
+
+    @Test
+    @DisplayName("로컬에서 발행한 /topic 메시지를 destination 을 key 로 Kafka 에 복제한다.")
+    public void 로컬_메시지_복제_성공_유무() {
+        //given
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        Message<byte[]> message = message("/topic/session.draw/room/session", null);
+
+        //when
+        fanout.preSend(message, null);
+
+        //then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, timeout(1000)).send(captor.capture());
+        assertThat(captor.getValue().key()).isEqualTo("/topic/session.draw/room/session");
+        assertThat(captor.getValue().value()).isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Kafka 전송이 막혀도 발행 스레드는 기다리지 않고, 대기열을 넘는 복제는 버리고 센다.")
+    public void 전송_지연_발행_비차단_성공_유무() throws InterruptedException {
+        //given
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await(10, TimeUnit.SECONDS); // 메타데이터를 못 받아 max.block.ms 동안 막힌 send
+            return new CompletableFuture<>();
+        });
+        fanout.preSend(message("/topic/session.timer/room/session", null), null);
+        sending.await(5, TimeUnit.SECONDS);
+
+        //when
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 10; i++) {
+                fanout.preSend(message("/topic/session.timer/room/session", null), null);
+            }
+        });
+        release.countDown();
+
+        //then
+        assertThat(meterRegistry.counter("broker.fanout.dropped").count()).isEqualTo(8);
+        verify(kafkaTemplate, timeout(1000).times(3)).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 받은 메시지는 다시 복제하지 않는다.")
+    public void 원격_메시지_재복제_방지_성공_유무() {
+        //given
+        Message<byte[]> message = message("/topic/session.draw/room/session", "other-node");
+
+        //when
+        fanout.preSend(message, null);
+
+        //then
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    @DisplayName("다른 노드의 메시지는 로컬 broker 로 전달하고, 자기 노드 메시지는 버린다.")
+    public void 원격_메시지_전달_성공_유무() {
+        //given
+        ConsumerRecord<String, byte[]> remote = record("other-node");
+        ConsumerRecord<String, byte[]> own = record(fanout.nodeId());
+
+        //when
+        fanout.deliver(remote);
+        fanout.deliver(own);
+
+        //then
+        verify(simpMessagingTemplate).send(eq("/topic/room/room"), any(Message.class));
+    }
+
+    private Message<byte[]> message(String destination, String origin) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        if (origin != null) {
+            accessor.setHeader(KafkaBrokerFanout.ORIGIN_HEADER, origin);
+        }
+        return MessageBuilder.createMessage("{}".getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private ConsumerRecord<String, byte[]> record(String origin) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("fanout", 0, 0, "/topic/room/room", new byte[0]);
+        record.headers().add(KafkaBrokerFanout.ORIGIN_HEADER, origin.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
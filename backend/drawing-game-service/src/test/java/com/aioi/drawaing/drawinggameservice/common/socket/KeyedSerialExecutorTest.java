@@ -0,0 +1,79 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyedSerialExecutorTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final KeyedSerialExecutor keyedSerialExecutor = new KeyedSerialExecutor(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 키는 제출 순서대로 실행하고, 막힌 키가 다른 키를 붙잡지 않는다.")
+    public void 키별_순서_격리_성공_유무() throws InterruptedException {
+        //given
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int count = 1000;
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(count);
+
+        //when
+        keyedSerialExecutor.execute("room-blocked", () -> {
+            blocked.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < count; i++) {
+            int idx = i;
+            keyedSerialExecutor.execute("room-1", () -> {
+                executed.add(idx);
+                done.countDown();
+            });
+        }
+
+        //then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, count).boxed().toList());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("대기열이 비면 키를 지운다.")
+    public void 빈_대기열_정리_성공_유무() throws InterruptedException {
+        //given
+        CountDownLatch done = new CountDownLatch(1);
+
+        //when
+        keyedSerialExecutor.execute("room-1", done::countDown);
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        //then
+        assertThat(keyedSerialExecutor.activeKeys()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import com.aioi.drawaing.drawinggameservice.chat.presentation.dto.ChatMessageDto;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.Timer;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.ParticipantScoreInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * convertAndSend 와 PreparedMessagePublisher 의 발행 비용을 비교한다. 테스트로 돌지 않으며 main 으로 직접 실행한다.
+ * 채널은 메시지를 버리기만 하므로 직렬화와 메시지/헤더 생성 비용만 잰다. JIT 순서 영향을 줄이려고 세 번 돌린다.
+ */
+public class PreparedMessagePublisherBenchmark {
+    private static final int ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+        template.setMessageConverter(converter);
+        PreparedMessagePublisher publisher = new PreparedMessagePublisher(template, objectMapper, new SimpleMeterRegistry(), 1024);
+
+        ChatMessageDto chat = new ChatMessageDto(1L, "고슴도치 아니야?", LocalDateTime.now());
+        Map<Long, ParticipantScoreInfo> result = new LinkedHashMap<>();
+        for (long id = 1; id <= 4; id++) {
+            result.put(id, new ParticipantScoreInfo(3, 120, 40, 60));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            runAll(template, publisher, chat, result);
+        }
+    }
+
+    private static void runAll(SimpMessagingTemplate template, PreparedMessagePublisher publisher,
+                               ChatMessageDto chat, Map<Long, ParticipantScoreInfo> result) {
+        run("chat     convertAndSend", i -> template.convertAndSend("/topic/chat.message/room/session", chat));
+        run("chat     prepared      ", i -> publisher.publish("/topic/chat.message/room/session", chat));
+        run("result   convertAndSend", i -> template.convertAndSend("/topic/session.result/room/session", result));
+        run("result   prepared      ", i -> publisher.publish("/topic/session.result/room/session", result));
+        run("timer    convertAndSend", i -> template.convertAndSend("/topic/session.timer/room/session", new Timer(300 - i % 300, 60 - i % 60)));
+        run("timer    cached        ", i -> publisher.publishCached("/topic/session.timer/room/session", new Timer(300 - i % 300, 60 - i % 60)));
+    }
+
+    private static void run(String name, Consumer<Integer> publish) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            publish.accept(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            publish.accept(i);
+        }
+        System.out.printf("%s %.1f ns/op%n", name, (double) (System.nanoTime() - start) / ITERATIONS);
+    }
+}
@@ -0,0 +1,80 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import com.aioi.drawaing.drawinggameservice.chat.presentation.dto.ChatMessageDto;
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.Timer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PreparedMessagePublisherTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PreparedMessagePublisher publisher = new PreparedMessagePublisher(template, objectMapper, meterRegistry, 2);
+
+    @Test
+    @DisplayName("convertAndSend 와 같은 JSON 바이트와 content-type 으로 보낸다.")
+    public void 직렬화_호환_성공_유무() {
+        //given
+        ChatMessageDto chat = new ChatMessageDto(1L, "고슴도치", LocalDateTime.of(2025, 3, 1, 12, 0));
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        SimpMessagingTemplate converting = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+        converting.setMessageConverter(converter);
+
+        //when
+        converting.convertAndSend("/topic/chat.message/room/session", chat);
+        publisher.publish("/topic/chat.message/room/session", chat);
+
+        //then
+        assertThat((byte[]) sent.get(1).getPayload()).isEqualTo((byte[]) sent.get(0).getPayload());
+        assertThat(sent.get(1).getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(sent.get(0).getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        assertThat(SimpMessageHeaderAccessor.getDestination(sent.get(1).getHeaders())).isEqualTo("/topic/chat.message/room/session");
+    }
+
+    @Test
+    @DisplayName("여러 목적지로 보내도 직렬화한 바이트는 하나를 같이 쓴다.")
+    public void 다중_목적지_성공_유무() {
+        //given
+        List<String> destinations = List.of("/topic/session.timer/room/a", "/topic/session.timer/room/b");
+
+        //when
+        publisher.publish(destinations, new Timer(10, 5));
+
+        //then
+        assertThat(sent).extracting(message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+                .containsExactlyElementsOf(destinations);
+        assertThat(sent.get(1).getPayload()).isSameAs(sent.get(0).getPayload());
+    }
+
+    @Test
+    @DisplayName("값이 같은 payload 는 만든 메시지를 다시 쓰고, 가득 차면 비운다.")
+    public void 캐시_재사용_성공_유무() {
+        //given
+        publisher.publishCached("/topic/session.timer/room/a", new Timer(10, 5));
+
+        //when
+        publisher.publishCached("/topic/session.timer/room/b", new Timer(10, 5));
+        publisher.publishCached("/topic/session.timer/room/b", new Timer(9, 4));
+        publisher.publishCached("/topic/session.timer/room/b", new Timer(8, 3));
+
+        //then
+        assertThat(sent.get(1).getPayload()).isSameAs(sent.get(0).getPayload());
+        assertThat(new String((byte[]) sent.get(0).getPayload())).isEqualTo("{\"totalTime\":10,\"drawTime\":5}");
+        assertThat(meterRegistry.get("socket.publish.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(publisher.cachedCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RoomLaneExecutorTest {
+    private final RoomLaneExecutor roomLaneExecutor = new RoomLaneExecutor(4, SocketThreadMode.PLATFORM);
+
+    @AfterEach
+    void tearDown() {
+        roomLaneExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("목적지에서 roomId 를 꺼낸다.")
+    public void 목적지_roomId_추출_성공_유무() {
+        assertThat(RoomLaneExecutor.roomId("/app/room.join/abc")).isEqualTo("abc");
+        assertThat(RoomLaneExecutor.roomId("/app/session.draw/abc/s1")).isEqualTo("abc");
+        assertThat(RoomLaneExecutor.roomId("/topic/room/abc")).isEqualTo("abc");
+        assertThat(RoomLaneExecutor.roomId("/user/queue/errors")).isNull();
+        assertThat(RoomLaneExecutor.roomId("/app/room.join/")).isNull();
+        assertThat(RoomLaneExecutor.roomId(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 방의 작업은 제출한 순서대로 하나씩 실행된다.")
+    public void 같은방_순서_보장_성공_유무() throws InterruptedException {
+        //given
+        int count = 1000;
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(count);
+
+        //when
+        for (int i = 0; i < count; i++) {
+            int idx = i;
+            roomLaneExecutor.execute("room-1", () -> {
+                executed.add(idx);
+                done.countDown();
+            });
+        }
+
+        //then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, count).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("작업이 예외를 던져도 같은 lane 의 다음 작업은 실행된다.")
+    public void 예외_이후_실행_성공_유무() throws InterruptedException {
+        //given
+        CountDownLatch done = new CountDownLatch(1);
+
+        //when
+        roomLaneExecutor.execute("room-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+        roomLaneExecutor.execute("room-1", done::countDown);
+
+        //then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("가상 스레드가 없는 런타임에서는 VIRTUAL 모드로 시작하지 않는다.")
+    public void 가상스레드_미지원_런타임_거부_성공_유무() {
+        assertThatThrownBy(() -> new RoomLaneExecutor(1, SocketThreadMode.VIRTUAL))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("VIRTUAL 모드에서도 같은 방 순서는 지키고, 막힌 방이 다른 방을 붙잡지 않는다.")
+    public void 가상스레드_모드_방별_순서_성공_유무() throws InterruptedException {
+        //given
+        RoomLaneExecutor virtual = new RoomLaneExecutor(1, SocketThreadMode.VIRTUAL);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int count = 1000;
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(count);
+
+        //when
+        virtual.execute("room-blocked", () -> {
+            blocked.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < count; i++) {
+            int idx = i;
+            virtual.execute("room-1", () -> {
+                executed.add(idx);
+                done.countDown();
+            });
+        }
+
+        //then
+        try {
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(executed).containsExactlyElementsOf(IntStream.range(0, count).boxed().toList());
+            assertThat(virtual.laneCount()).isZero();
+        } finally {
+            release.countDown();
+            virtual.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
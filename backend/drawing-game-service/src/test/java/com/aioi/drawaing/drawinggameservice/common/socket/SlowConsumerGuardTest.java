@@ -0,0 +1,97 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SlowConsumerGuardTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlowConsumerGuard guard = new SlowConsumerGuard(meterRegistry, 2, List.of("/topic/session.draw", "/topic/session.timer"));
+    private final WebSocketHandler handler = mock(WebSocketHandler.class);
+    private WebSocketSession decoratedSession;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        guard.decorate(handler).afterConnectionEstablished(session);
+        ArgumentCaptor<WebSocketSession> captor = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(handler).afterConnectionEstablished(captor.capture());
+        decoratedSession = captor.getValue();
+    }
+
+    @Test
+    @DisplayName("밀린 프레임이 한도를 넘으면 그림 프레임은 버리고 채팅은 보낸다.")
+    public void 느린_클라이언트_선택적_버림_성공_유무() {
+        //given
+        guard.preSend(message("/topic/session.draw/room/session"), null);
+        guard.preSend(message("/topic/session.draw/room/session"), null);
+
+        //when
+        Message<?> draw = guard.preSend(message("/topic/session.draw/room/session"), null);
+        Message<?> chat = guard.preSend(message("/topic/chat.message/room/session"), null);
+
+        //then
+        assertThat(draw).isNull();
+        assertThat(chat).isNotNull();
+        assertThat(guard.pending("s1")).isEqualTo(3);
+        assertThat(meterRegistry.get("websocket.client.throttled").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("websocket.outbound.dropped").tag("destination", "/topic/session.draw").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("소켓에 쓴 MESSAGE 프레임만큼 밀린 수가 줄어들어 다시 보낼 수 있다.")
+    public void 전송_후_복구_성공_유무() throws Exception {
+        //given
+        guard.preSend(message("/topic/session.timer/room/session"), null);
+        guard.preSend(message("/topic/session.timer/room/session"), null);
+
+        //when
+        decoratedSession.sendMessage(new TextMessage("MESSAGE\ndestination:/topic/session.timer/room/session\n\n{}\u0000"));
+        decoratedSession.sendMessage(new TextMessage("MESSAGE\ndestination:/topic/session.timer/room/session\n\n{}\u0000"));
+        Message<?> timer = guard.preSend(message("/topic/session.timer/room/session"), null);
+
+        //then
+        assertThat(timer).isNotNull();
+        assertThat(guard.pending("s1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("버퍼 한도 초과로 끊긴 세션을 지표로 남긴다.")
+    public void 느린_클라이언트_종료_기록_성공_유무() throws Exception {
+        //given
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+
+        //when
+        guard.decorate(handler).afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+
+        //then
+        assertThat(guard.pending("s1")).isZero();
+        assertThat(meterRegistry.get("websocket.client.slow-disconnected").counter().count()).isEqualTo(1);
+    }
+
+    private Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setSessionId("s1");
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
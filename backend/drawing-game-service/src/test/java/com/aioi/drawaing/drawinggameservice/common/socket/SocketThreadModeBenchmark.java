@@ -0,0 +1,171 @@
+package com.aioi.drawaing.drawinggameservice.common.socket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * PLATFORM 과 VIRTUAL 스레드 모드의 핸들러 지연(p50/p99)과 최대 스레드 수를 비교한다. 테스트로 돌지 않으며 main 으로 직접 실행한다.
+ * 인바운드: 방마다 메시지를 보내고, 일부 핸들러는 findSession/save 처럼 Mongo 를 기다린다고 보고 잠깐 잔다.
+ * 아웃바운드: 클라이언트마다 프레임을 보내고, 일부 클라이언트는 소켓 쓰기가 느리다고 본다.
+ * 지연은 제출부터 핸들러가 끝날 때까지다. VIRTUAL 은 Java 21 이상 JVM 으로 실행해야 하며, 그 미만이면 PLATFORM 만 잰다.
+ */
+public class SocketThreadModeBenchmark {
+    private static final int ROOMS = 500;
+    private static final int MESSAGES_PER_ROOM = 40;
+    // 이 비율만큼의 인바운드 핸들러가 BLOCKING_MILLIS 동안 막힌다.
+    private static final int BLOCKING_PERCENT = 20;
+    private static final int BLOCKING_MILLIS = 5;
+    private static final int CLIENTS = 2000;
+    private static final int FRAMES_PER_CLIENT = 20;
+    // 이 비율만큼의 클라이언트는 프레임마다 SLOW_SOCKET_MILLIS 동안 쓴다.
+    private static final int SLOW_CLIENT_PERCENT = 2;
+    private static final int SLOW_SOCKET_MILLIS = 20;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("Java %d, cores %d%n", Runtime.version().feature(), Runtime.getRuntime().availableProcessors());
+        if (!VirtualThreads.isSupported()) {
+            System.out.println("가상 스레드가 없는 런타임이라 VIRTUAL 모드는 건너뜁니다. Java 21 이상으로 실행하세요.");
+        }
+        for (int round = 0; round < 2; round++) {
+            RoomLaneExecutor platform = new RoomLaneExecutor(0, SocketThreadMode.PLATFORM);
+            inbound("inbound  PLATFORM", platform::execute);
+            platform.shutdown();
+
+            if (VirtualThreads.isSupported()) {
+                RoomLaneExecutor virtual = new RoomLaneExecutor(0, SocketThreadMode.VIRTUAL);
+                inbound("inbound  VIRTUAL ", virtual::execute);
+                virtual.shutdown();
+            }
+
+            // 스프링 기본 아웃바운드 풀: 코어 수 x 2 고정, 무제한 대기열
+            int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+            ExecutorService pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+            outbound("outbound PLATFORM", pool::execute);
+            pool.shutdown();
+
+            if (VirtualThreads.isSupported()) {
+                ClientOutboundExecutor clients = new ClientOutboundExecutor(new SimpleMeterRegistry(), SocketThreadMode.VIRTUAL);
+                outbound("outbound VIRTUAL ", clients::execute);
+                clients.shutdown();
+            }
+        }
+    }
+
+    private interface RoomExecutor {
+        void execute(String roomId, Runnable task);
+    }
+
+    private static void inbound(String name, RoomExecutor executor) throws InterruptedException {
+        int total = ROOMS * MESSAGES_PER_ROOM;
+        long[] latencies = new long[total];
+        AtomicInteger index = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        run(name, latencies, done, () -> {
+            for (int m = 0; m < MESSAGES_PER_ROOM; m++) {
+                for (int r = 0; r < ROOMS; r++) {
+                    long submitted = System.nanoTime();
+                    boolean blocking = (r * 31 + m) % 100 < BLOCKING_PERCENT;
+                    executor.execute("room-" + r, () -> {
+                        if (blocking) {
+                            sleep(BLOCKING_MILLIS);
+                        }
+                        latencies[index.getAndIncrement()] = System.nanoTime() - submitted;
+                        done.countDown();
+                    });
+                }
+            }
+        });
+    }
+
+    private static void outbound(String name, Consumer<Runnable> executor) throws InterruptedException {
+        int total = CLIENTS * FRAMES_PER_CLIENT;
+        long[] latencies = new long[total];
+        AtomicInteger index = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        run(name, latencies, done, () -> {
+            for (int f = 0; f < FRAMES_PER_CLIENT; f++) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    long submitted = System.nanoTime();
+                    boolean slow = c % 100 < SLOW_CLIENT_PERCENT;
+                    executor.accept(new SendTask(frame("ws-" + c), () -> {
+                        if (slow) {
+                            sleep(SLOW_SOCKET_MILLIS);
+                        }
+                        latencies[index.getAndIncrement()] = System.nanoTime() - submitted;
+                        done.countDown();
+                    }));
+                }
+            }
+        });
+    }
+
+    private static void run(String name, long[] latencies, CountDownLatch done, Runnable submitAll) throws InterruptedException {
+        THREADS.resetPeakThreadCount();
+        int before = THREADS.getThreadCount();
+        long start = System.nanoTime();
+        submitAll.run();
+        if (!done.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(name + " 이 제한 시간 안에 끝나지 않았습니다.");
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        System.out.printf("%s total %6d ms  p50 %7.2f ms  p99 %8.2f ms  max %8.2f ms  threads %d -> peak %d%n",
+                name, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                millis(latencies, 0.50), millis(latencies, 0.99), latencies[latencies.length - 1] / 1e6,
+                before, THREADS.getPeakThreadCount());
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+    }
+
+    private static Message<byte[]> frame(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ExecutorSubscribableChannel 의 SendTask 처럼 메시지를 들고 있어야 ClientOutboundExecutor 가 세션을 고른다.
+    private record SendTask(Message<?> message, Runnable body) implements MessageHandlingRunnable {
+        @Override
+        public Message<?> getMessage() {
+            return message;
+        }
+
+        @Override
+        public MessageHandler getMessageHandler() {
+            return msg -> body.run();
+        }
+
+        @Override
+        public void run() {
+            body.run();
+        }
+    }
+}
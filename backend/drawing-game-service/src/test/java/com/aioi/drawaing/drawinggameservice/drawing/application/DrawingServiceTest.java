@@ -11,19 +11,23 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class DrawingServiceTest {
 
-    @Mock
-    private KeywordRepository keywordRepository;
+    private final KeywordRepository keywordRepository = mock(KeywordRepository.class);
+
+    @Spy
+    private KeywordPool keywordPool = new KeywordPool(keywordRepository, mock(ScheduledExecutorService.class));
 
     @InjectMocks
     private DrawingService drawingService;
@@ -43,6 +47,7 @@ public class DrawingServiceTest {
         keywords.add(Keyword.builder().keyword("알파카파카파카파카").build());
 
         when(keywordRepository.findAll()).thenReturn(keywords);
+        keywordPool.refresh();
     }
 
     @Test
@@ -60,6 +65,22 @@ public class DrawingServiceTest {
                 .hasSize(count);
     }
 
+    @Test
+    @DisplayName("게임 제시어는 중복 없이 뽑고, 풀보다 많이 요청하면 풀 크기만큼만 뽑는다.")
+    public void 제시어_뽑기_중복없이_뽑는지_성공_유무(){
+        //given
+        int count = 30;
+
+        //when
+        List<String> words = drawingService.extractWords(count);
+
+        //then
+        Assertions.assertThat(words)
+                .describedAs("words: %s", words)
+                .hasSize(10)
+                .doesNotHaveDuplicates();
+    }
+
     @Test
     @DisplayName("랜덤으로 게임 제시어를 정해진 개수만큼 리스트로 뽑는지 확인한다.")
     public void 제시어_뽑기가_랜덤으로_뽑는지_성공_유무(){
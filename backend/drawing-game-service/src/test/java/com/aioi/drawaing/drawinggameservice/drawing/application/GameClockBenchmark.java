@@ -0,0 +1,60 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application;
+
+import com.aioi.drawaing.drawinggameservice.common.schedule.HashedTimingWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.aioi.drawaing.drawinggameservice.common.schedule.TimingWheelTicker.advance;
+
+/**
+ * 세션 1만 개가 동시에 돌 때 휠 한 틱의 처리 비용과 executor 로 넘어가는 작업 수를 잰다.
+ * 테스트로 돌지 않으며 main 으로 직접 실행한다.
+ */
+public class GameClockBenchmark {
+    private static final int SESSIONS = 10_000;
+    private static final int MEASURED_TICKS = 300;
+
+    public static void main(String[] args) throws InterruptedException {
+        HashedTimingWheel wheel = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 512);
+        ScheduledThreadPoolExecutor executor = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(10);
+        GameClock gameClock = new GameClock(wheel, executor, new SimpleMeterRegistry());
+        AtomicInteger ticks = new AtomicInteger();
+        GameClockListener listener = new GameClockListener() {
+            @Override
+            public void onTick(String roomId, String sessionId, int sessionTime, int drawTime) {
+                ticks.incrementAndGet();
+            }
+
+            @Override
+            public void onSessionEnd(String roomId, String sessionId) {
+            }
+        };
+        for (int i = 0; i < SESSIONS; i++) {
+            gameClock.start("room" + i, "session" + i, 600, 20, listener);
+            // 실제 서비스처럼 세션 시작 시점을 틱 사이에 흩어 놓는다.
+            if (i % (SESSIONS / 10) == 0) {
+                advance(wheel, 1);
+            }
+        }
+        advance(wheel, 50); // warm up
+
+        ticks.set(0);
+        long tasksBefore = executor.getTaskCount();
+        long start = System.nanoTime();
+        advance(wheel, MEASURED_TICKS);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        long tasks = executor.getTaskCount() - tasksBefore;
+
+        double seconds = MEASURED_TICKS / 10.0;
+        System.out.printf("sessions=%d, ticks=%d, avg tick=%.1fus, per session-second=%.0fns%n",
+                SESSIONS, MEASURED_TICKS, elapsed / 1_000.0 / MEASURED_TICKS, elapsed / (SESSIONS * seconds));
+        System.out.printf("executor 작업 %.0f/s, 콜백 %.0f/s%n", tasks / seconds, ticks.get() / seconds);
+    }
+}
@@ -0,0 +1,160 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application;
+
+import com.aioi.drawaing.drawinggameservice.common.schedule.HashedTimingWheel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.aioi.drawaing.drawinggameservice.common.schedule.TimingWheelTicker.advance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class GameClockTest {
+    private final HashedTimingWheel wheel = new HashedTimingWheel(100, TimeUnit.MILLISECONDS, 8);
+
+    @Test
+    @DisplayName("한 틱에 만료된 세션들의 콜백은 묶어서 executor 에 한 번씩만 넘긴다.")
+    public void 틱_콜백_일괄_전달_성공_유무() {
+        //given
+        ScheduledExecutorService executor = directExecutor();
+        GameClock gameClock = new GameClock(wheel, executor, new SimpleMeterRegistry());
+        AtomicInteger ticks = new AtomicInteger();
+        for (int i = 0; i < 600; i++) {
+            gameClock.start("room" + i, "session" + i, 60, 20, listener(ticks, new AtomicInteger(), new AtomicInteger(), true));
+        }
+
+        //when
+        advance(wheel, 1);
+
+        //then
+        assertThat(ticks.get()).isEqualTo(600);
+        verify(executor, times(3)).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("게임 시작 전환은 지연 후 한 번 실행되고, 방이 비어 취소하면 실행되지 않는다.")
+    public void 게임_전환_예약_취소_성공_유무() {
+        //given
+        GameClock gameClock = new GameClock(wheel, directExecutor(), new SimpleMeterRegistry());
+        AtomicInteger started = new AtomicInteger();
+        gameClock.scheduleTransition("room1", 1, started::incrementAndGet);
+        gameClock.scheduleTransition("room2", 1, started::incrementAndGet);
+
+        //when
+        boolean cancelled = gameClock.cancelTransition("room2");
+        int pendingAfterCancel = gameClock.pendingTransitionCount();
+        advance(wheel, 11);
+
+        //then
+        assertThat(cancelled).isTrue();
+        assertThat(pendingAfterCancel).isEqualTo(1);
+        assertThat(started.get()).isEqualTo(1);
+        assertThat(gameClock.pendingTransitionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("EPOCH 모드 리스너는 매초 tick 없이 그림 시간 리셋만 받는다.")
+    public void 타이머_epoch_이벤트_성공_유무() {
+        //given
+        GameClock gameClock = new GameClock(wheel, directExecutor(), new SimpleMeterRegistry());
+        AtomicInteger ticks = new AtomicInteger();
+        AtomicInteger resets = new AtomicInteger();
+        gameClock.start("room", "session", 60, 2, listener(ticks, resets, new AtomicInteger(), false));
+        long firstDeadline = gameClock.state("session").drawDeadlineMillis();
+
+        //when
+        advance(wheel, 21); // 그림 시간 2초 만료 -> 자동 리셋
+        gameClock.resetDrawing("session");
+
+        //then
+        assertThat(ticks.get()).isZero();
+        assertThat(resets.get()).isEqualTo(2);
+        assertThat(gameClock.state("session").drawTime()).isEqualTo(2);
+        assertThat(gameClock.state("session").drawDeadlineMillis()).isGreaterThanOrEqualTo(firstDeadline);
+        assertThat(gameClock.state("session").sessionDeadlineMillis()).isGreaterThan(firstDeadline);
+    }
+
+    @Test
+    @DisplayName("EPOCH 마감 시각은 실제로 그림 시간이 리셋되고 세션이 끝나는 시각과 같다.")
+    public void 마감_시각_실제_만료_일치_성공_유무() throws InterruptedException {
+        //given
+        HashedTimingWheel running = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 256);
+        running.start();
+        GameClock gameClock = new GameClock(running, directExecutor(), new SimpleMeterRegistry());
+        long[] drawResetAt = new long[1];
+        long[] sessionEndAt = new long[1];
+        CountDownLatch ended = new CountDownLatch(1);
+        gameClock.start("room", "session", 3, 2, new GameClockListener() {
+            @Override
+            public void onTick(String roomId, String sessionId, int sessionTime, int drawTime) {
+            }
+
+            @Override
+            public void onSessionEnd(String roomId, String sessionId) {
+                sessionEndAt[0] = System.currentTimeMillis();
+                ended.countDown();
+            }
+
+            @Override
+            public void onDrawReset(String roomId, String sessionId) {
+                if (drawResetAt[0] == 0) {
+                    drawResetAt[0] = System.currentTimeMillis();
+                }
+            }
+        });
+        GameClock.ClockState started = gameClock.state("session");
+
+        //when
+        boolean finished = ended.await(5, TimeUnit.SECONDS);
+        running.stop();
+
+        //then
+        assertThat(finished).isTrue();
+        assertThat(drawResetAt[0]).isCloseTo(started.drawDeadlineMillis(), within(150L));
+        assertThat(sessionEndAt[0]).isCloseTo(started.sessionDeadlineMillis(), within(150L));
+    }
+
+    private static GameClockListener listener(AtomicInteger ticks, AtomicInteger resets, AtomicInteger ends, boolean wantsTicks) {
+        return new GameClockListener() {
+            @Override
+            public void onTick(String roomId, String sessionId, int sessionTime, int drawTime) {
+                ticks.incrementAndGet();
+            }
+
+            @Override
+            public void onSessionEnd(String roomId, String sessionId) {
+                ends.incrementAndGet();
+            }
+
+            @Override
+            public void onDrawReset(String roomId, String sessionId) {
+                resets.incrementAndGet();
+            }
+
+            @Override
+            public boolean wantsTicks() {
+                return wantsTicks;
+            }
+        };
+    }
+
+    // 콜백을 호출 스레드에서 바로 실행하는 executor
+    private static ScheduledExecutorService directExecutor() {
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        return executor;
+    }
+}
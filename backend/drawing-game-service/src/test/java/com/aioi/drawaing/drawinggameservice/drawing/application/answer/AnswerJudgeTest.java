@@ -0,0 +1,59 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.answer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AnswerJudgeTest {
+    private final AnswerJudge answerJudge = new AnswerJudge(new SimpleMeterRegistry(), true, 1, 6);
+
+    @Test
+    @DisplayName("정답이면 마지막으로 그린 멤버와 그림 순서를 돌려주고, 라운드당 한 번만 인정한다.")
+    public void 정답_판정_성공_유무() {
+        //given
+        answerJudge.startRound("s1", "사과");
+        answerJudge.onDraw("s1", 1L);
+        answerJudge.onDrawReset("s1");
+        answerJudge.onDraw("s1", 2L);
+
+        //when
+        AnswerJudge.Verdict verdict = answerJudge.judge("s1", 4L, "사과");
+
+        //then
+        assertThat(verdict).isEqualTo(new AnswerJudge.Verdict(2L, 2));
+        assertThat(answerJudge.judge("s1", 3L, "사과")).isNull();
+    }
+
+    @Test
+    @DisplayName("그리는 사람의 채팅이나 아무도 그리지 않은 라운드의 추측은 정답으로 보지 않는다.")
+    public void 정답_제외_성공_유무() {
+        //given
+        answerJudge.startRound("s1", "사과");
+
+        //when, then
+        assertThat(answerJudge.judge("s1", 4L, "사과")).isNull();
+        answerJudge.onDraw("s1", 1L);
+        assertThat(answerJudge.judge("s1", 1L, "사과")).isNull();
+        assertThat(answerJudge.judge("s1", 4L, "바나나")).isNull();
+        assertThat(answerJudge.judge("s1", 4L, "사과")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("새 라운드가 시작되면 새 제시어로 다시 판정한다.")
+    public void 라운드_전환_성공_유무() {
+        //given
+        answerJudge.startRound("s1", "사과");
+        answerJudge.onDraw("s1", 1L);
+        answerJudge.judge("s1", 4L, "사과");
+
+        //when
+        answerJudge.startRound("s1", "바나나");
+        answerJudge.onDraw("s1", 2L);
+
+        //then
+        assertThat(answerJudge.judge("s1", 4L, "사과")).isNull();
+        assertThat(answerJudge.judge("s1", 4L, "바나나")).isEqualTo(new AnswerJudge.Verdict(2L, 1));
+    }
+}
@@ -0,0 +1,84 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.answer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoundAnswerTest {
+
+    @Test
+    @DisplayName("공백, 문장 부호, 대소문자는 무시하고 비교한다.")
+    public void 정규화_비교_성공_유무() {
+        //given
+        RoundAnswer answer = new RoundAnswer("고슴도치", 1, 6);
+        RoundAnswer english = new RoundAnswer("Pizza", 1, 6);
+
+        //when, then
+        assertThat(answer.matches(" 고슴 도치!! ")).isTrue();
+        assertThat(english.matches("pizza")).isTrue();
+        assertThat(answer.matches("고슴도치인가")).isFalse();
+    }
+
+    @Test
+    @DisplayName("긴 제시어는 자모 하나 차이의 오타까지 정답으로 본다.")
+    public void 자모_오타_허용_성공_유무() {
+        //given
+        RoundAnswer answer = new RoundAnswer("고슴도치", 1, 6);
+
+        //when, then
+        assertThat(answer.matches("고슴도티")).isTrue();
+        assertThat(answer.matches("고슴돛이")).isFalse();
+        assertThat(answer.matches("고슴도")).isFalse();
+        assertThat(answer.matches("고슴도치야")).isFalse();
+    }
+
+    @Test
+    @DisplayName("짧은 제시어는 정확히 같아야 정답이다.")
+    public void 짧은_제시어_정확_비교_성공_유무() {
+        //given
+        RoundAnswer answer = new RoundAnswer("사과", 1, 6);
+
+        //when, then
+        assertThat(answer.matches("사과")).isTrue();
+        assertThat(answer.matches("사기")).isFalse();
+        assertThat(answer.matches("삭과")).isFalse();
+    }
+
+    @Test
+    @DisplayName("따로 입력한 자모도 음절을 나눈 자모와 같게 본다.")
+    public void 호환_자모_비교_성공_유무() {
+        //given
+        RoundAnswer answer = new RoundAnswer("바나나", 1, 6);
+
+        //when, then
+        assertThat(answer.matches("바나ㄴㅏ")).isTrue();
+        assertThat(answer.matches("바나ㄴ")).isTrue();
+    }
+
+    @Test
+    @DisplayName("비교할 때 새 객체를 만들지 않는다.")
+    public void 비교_할당_없음_성공_유무() {
+        //given
+        RoundAnswer answer = new RoundAnswer("고슴도치", 1, 6);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 10_000; i++) {
+            answer.matches("고슴도티");
+        }
+
+        //when
+        long before = threads.getThreadAllocatedBytes(threadId);
+        boolean matched = true;
+        for (int i = 0; i < 10_000; i++) {
+            matched &= answer.matches("고슴도티");
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        //then
+        assertThat(matched).isTrue();
+        assertThat(allocated).isLessThan(1024);
+    }
+}
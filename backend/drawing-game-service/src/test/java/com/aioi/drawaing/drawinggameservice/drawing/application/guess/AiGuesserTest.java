@@ -0,0 +1,101 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.guess;
+
+import com.aioi.drawaing.drawinggameservice.drawing.application.dto.AiGuess;
+import com.aioi.drawaing.drawinggameservice.drawing.application.stroke.StrokeBatch;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.ModelServerClient;
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.StubModelServer;
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.DrawMessagePublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class AiGuesserTest {
+    private static final String TOPIC = "/topic/session.guess/r1/s1";
+
+    private final DrawMessagePublisher drawMessagePublisher = mock(DrawMessagePublisher.class);
+    private final ScheduledExecutorService schedule = mock(ScheduledExecutorService.class);
+    private StubModelServer modelServer;
+    private AiGuesser aiGuesser;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        modelServer = new StubModelServer();
+        // debounce 0 으로 두고 예약된 검사는 바로 실행한다.
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(schedule).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        ModelServerClient client = new ModelServerClient(new OkHttpClient(), new ObjectMapper(), schedule,
+                new SimpleMeterRegistry(), modelServer.url(), 0, 32, 4, 100, 5, 1000);
+        aiGuesser = new AiGuesser(client, drawMessagePublisher, schedule, new SimpleMeterRegistry(),
+                true, 0, 0, 700, 400, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        modelServer.close();
+    }
+
+    @Test
+    @DisplayName("stroke 가 들어오면 모델 서버에 제시어와 함께 보내고 결과를 세션 토픽으로 보낸다.")
+    public void 추측_결과_전송_성공_유무() {
+        //given
+        aiGuesser.startRound("r1", "s1", "사과");
+
+        //when
+        aiGuesser.onStroke("s1", new StrokeBatch(new long[]{1L}, new float[][]{{10, 10, 300, 200}}));
+
+        //then
+        ArgumentCaptor<AiGuess> captor = ArgumentCaptor.forClass(AiGuess.class);
+        verify(drawMessagePublisher, timeout(3000)).publishAiGuess(eq(TOPIC), captor.capture());
+        assertThat(captor.getValue().result()).isEqualTo("사과");
+        assertThat(captor.getValue().correct()).isTrue();
+        assertThat(modelServer.batches()).containsExactly(List.of("사과"));
+    }
+
+    @Test
+    @DisplayName("응답 전에 라운드가 바뀌면 이전 라운드의 결과는 보내지 않는다.")
+    public void 지난_라운드_결과_버림_성공_유무() {
+        //given
+        modelServer.delay(300);
+        aiGuesser.startRound("r1", "s1", "사과");
+        aiGuesser.onStroke("s1", new StrokeBatch(new long[]{1L}, new float[][]{{10, 10, 300, 200}}));
+
+        //when
+        aiGuesser.startRound("r1", "s1", "바나나");
+
+        //then
+        verify(drawMessagePublisher, after(1000).never()).publishAiGuess(any(), any());
+    }
+
+    @Test
+    @DisplayName("라운드를 시작하지 않은 세션의 stroke 는 무시한다.")
+    public void 추적하지_않는_세션_무시_성공_유무() {
+        //when
+        aiGuesser.onStroke("s2", new StrokeBatch(new long[]{1L}, new float[][]{{10, 10, 300, 200}}));
+
+        //then
+        verify(schedule, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+}
@@ -0,0 +1,59 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.guess;
+
+import java.util.Random;
+
+/**
+ * stroke 한 묶음을 그리는 비용을 잰다. 테스트로 돌지 않으며 main 으로 직접 실행한다.
+ * (브라우저가 보내는 묶음처럼 20개 안팎의 점으로 이어진 선을 그린다.)
+ */
+public class StrokeRasterizerBenchmark {
+    private static final int STROKES = 2_000;
+    private static final int POINTS_PER_STROKE = 20;
+
+    public static void main(String[] args) {
+        float[][] strokes = strokes(new Random(42));
+        StrokeRasterizer rasterizer = new StrokeRasterizer(StrokeRasterizer.MODEL_INPUT_SIZE, 700, 400, 5);
+        for (int warmup = 0; warmup < 200; warmup++) {
+            run(rasterizer, strokes);
+        }
+        int iterations = 50;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            run(rasterizer, strokes);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("stroke 당 %.1f ns (점 %d개)%n", (double) elapsed / iterations / STROKES, POINTS_PER_STROKE);
+
+        for (int warmup = 0; warmup < 200; warmup++) {
+            rasterizer.toPng();
+        }
+        start = System.nanoTime();
+        int pngs = 200;
+        for (int i = 0; i < pngs; i++) {
+            rasterizer.toPng();
+        }
+        System.out.printf("PNG 인코딩 %.1f us%n", (System.nanoTime() - start) / 1000.0 / pngs);
+    }
+
+    private static void run(StrokeRasterizer rasterizer, float[][] strokes) {
+        rasterizer.clear();
+        for (float[] stroke : strokes) {
+            rasterizer.draw(stroke);
+        }
+    }
+
+    private static float[][] strokes(Random random) {
+        float[][] strokes = new float[STROKES][POINTS_PER_STROKE * 2];
+        for (float[] stroke : strokes) {
+            float x = random.nextFloat() * 700;
+            float y = random.nextFloat() * 400;
+            for (int p = 0; p < POINTS_PER_STROKE; p++) {
+                x = Math.max(0, Math.min(700, x + random.nextFloat() * 20 - 10));
+                y = Math.max(0, Math.min(400, y + random.nextFloat() * 20 - 10));
+                stroke[p * 2] = x;
+                stroke[p * 2 + 1] = y;
+            }
+        }
+        return strokes;
+    }
+}
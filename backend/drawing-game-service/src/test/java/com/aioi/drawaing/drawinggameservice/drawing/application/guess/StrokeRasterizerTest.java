@@ -0,0 +1,66 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.guess;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StrokeRasterizerTest {
+
+    @Test
+    @DisplayName("캔버스 좌표를 모델 입력 크기로 줄여서 선을 그린다.")
+    public void 선_그리기_성공_유무() {
+        //given
+        StrokeRasterizer rasterizer = new StrokeRasterizer(112, 700, 400, 5);
+
+        //when
+        // y=201.8 은 112 크기에서 56 번째 줄의 가운데다.
+        rasterizer.draw(new float[]{0, 201.8f, 700, 201.8f});
+
+        //then
+        assertThat(rasterizer.isBlank()).isFalse();
+        assertThat(rasterizer.pixel(0, 56)).isLessThan(128);
+        assertThat(rasterizer.pixel(56, 56)).isLessThan(128);
+        assertThat(rasterizer.pixel(111, 56)).isLessThan(128);
+        assertThat(rasterizer.pixel(56, 10)).isEqualTo(255);
+        assertThat(rasterizer.pixel(56, 100)).isEqualTo(255);
+    }
+
+    @Test
+    @DisplayName("점 하나만 있어도 찍고, clear 하면 흰 배경으로 돌아간다.")
+    public void 점_찍기와_지우기_성공_유무() {
+        //given
+        StrokeRasterizer rasterizer = new StrokeRasterizer(112, 700, 400, 5);
+        rasterizer.draw(new float[]{353.1f, 201.8f});
+        assertThat(rasterizer.pixel(56, 56)).isLessThan(128);
+
+        //when
+        rasterizer.clear();
+
+        //then
+        assertThat(rasterizer.isBlank()).isTrue();
+        assertThat(rasterizer.pixel(56, 56)).isEqualTo(255);
+    }
+
+    @Test
+    @DisplayName("캔버스 밖 좌표는 잘라내고, PNG 는 모델 입력 크기로 나온다.")
+    public void PNG_변환_성공_유무() throws IOException {
+        //given
+        StrokeRasterizer rasterizer = new StrokeRasterizer(112, 700, 400, 5);
+        rasterizer.draw(new float[]{-100, -100, 800, 500});
+
+        //when
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(rasterizer.toPng()));
+
+        //then
+        assertThat(image.getWidth()).isEqualTo(112);
+        assertThat(image.getHeight()).isEqualTo(112);
+        assertThat(image.getRaster().getSample(56, 56, 0)).isEqualTo(rasterizer.pixel(56, 56));
+        assertThat(image.getRaster().getSample(100, 5, 0)).isEqualTo(255);
+    }
+}
@@ -0,0 +1,59 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StrokeCanvasTest {
+
+    @Test
+    @DisplayName("스냅샷은 멤버별 좌표를 이어 붙이고, 지우기 신호 이전 좌표는 버린다.")
+    public void 캔버스_스냅샷_성공_유무() {
+        //given
+        StrokeCanvas canvas = new StrokeCanvas();
+        canvas.append(StrokeCodec.encode(batch(1L, 1, 1, 2, 2)));
+        canvas.append(StrokeCodec.encode(batch(2L, 5, 5)));
+        canvas.append(StrokeCodec.encode(batch(1L)));
+        canvas.append(StrokeCodec.encode(batch(1L, 3, 3)));
+        canvas.append(StrokeCodec.encode(batch(2L, 6, 6)));
+
+        //when
+        StrokeBatch snapshot = StrokeCodec.decode(canvas.snapshot());
+
+        //then
+        assertThat(snapshot.memberCount()).isEqualTo(2);
+        assertThat(snapshot.memberId(0)).isEqualTo(2L);
+        assertThat(snapshot.points(0)).containsExactly(5, 5, 6, 6);
+        assertThat(snapshot.memberId(1)).isEqualTo(1L);
+        assertThat(snapshot.points(1)).containsExactly(3, 3);
+    }
+
+    @Test
+    @DisplayName("프레임이 많이 쌓여도 압축 후 같은 캔버스를 돌려준다.")
+    public void 캔버스_압축_성공_유무() {
+        //given
+        StrokeCanvas canvas = new StrokeCanvas();
+        for (int i = 0; i < 1000; i++) {
+            canvas.append(StrokeCodec.encode(batch(1L, i, i)));
+        }
+
+        //when
+        StrokeBatch snapshot = StrokeCodec.decode(canvas.snapshot());
+
+        //then
+        assertThat(snapshot.memberCount()).isEqualTo(1);
+        assertThat(snapshot.pointCount()).isEqualTo(1000);
+        assertThat(snapshot.points(0)[1998]).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("그린 것이 없으면 빈 프레임을 돌려준다.")
+    public void 빈_캔버스_성공_유무() {
+        assertThat(StrokeCodec.decode(new StrokeCanvas().snapshot()).memberCount()).isZero();
+    }
+
+    private StrokeBatch batch(long memberId, float... coords) {
+        return new StrokeBatch(new long[]{memberId}, new float[][]{coords});
+    }
+}
@@ -0,0 +1,112 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.aioi.drawaing.drawinggameservice.drawing.presentation.dto.DrawInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StrokeCodecTest {
+
+    @Test
+    @DisplayName("인코딩한 stroke 를 디코딩하면 양자화 오차 안에서 같은 좌표가 나온다.")
+    public void 인코딩_디코딩_왕복_성공_유무() {
+        //given
+        HashMap<Long, List<DrawInfo>> drawInfo = new HashMap<>();
+        drawInfo.put(1L, List.of(new DrawInfo(10.24f, 300.5f), new DrawInfo(11.3f, 299.87f), new DrawInfo(0f, 0f)));
+        drawInfo.put(42L, List.of(new DrawInfo(512.1f, 3.3f)));
+
+        //when
+        StrokeBatch decoded = StrokeCodec.decode(StrokeCodec.encode(StrokeBatch.from(drawInfo)));
+        HashMap<Long, List<DrawInfo>> result = decoded.toDrawInfo();
+
+        //then
+        assertThat(result).containsOnlyKeys(1L, 42L);
+        for (Long memberId : drawInfo.keySet()) {
+            List<DrawInfo> expected = drawInfo.get(memberId);
+            List<DrawInfo> actual = result.get(memberId);
+            assertThat(actual).hasSameSizeAs(expected);
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(actual.get(i).x()).isCloseTo(expected.get(i).x(), within(0.05f));
+                assertThat(actual.get(i).y()).isCloseTo(expected.get(i).y(), within(0.05f));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("연속된 좌표는 JSON 보다 훨씬 작은 크기로 인코딩된다.")
+    public void 바이너리_크기_감소_성공_유무() throws Exception {
+        //given
+        List<DrawInfo> points = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            points.add(new DrawInfo(100f + i * 1.5f, 200f + i * 0.7f));
+        }
+        HashMap<Long, List<DrawInfo>> drawInfo = new HashMap<>();
+        drawInfo.put(7L, points);
+
+        //when
+        byte[] binary = StrokeCodec.encode(StrokeBatch.from(drawInfo));
+        byte[] json = new ObjectMapper().writeValueAsBytes(drawInfo);
+
+        //then
+        assertThat(binary.length).isLessThan(json.length / 5);
+    }
+
+    @Test
+    @DisplayName("여러 프레임을 디코딩 없이 이어 붙여도 순서대로 같은 좌표가 나온다.")
+    public void 프레임_이어붙이기_성공_유무() {
+        //given
+        byte[] first = StrokeCodec.encode(StrokeBatch.from(Map.of(1L, List.of(new DrawInfo(1f, 2f), new DrawInfo(3f, 4f)))));
+        byte[] second = StrokeCodec.encode(StrokeBatch.from(Map.of(1L, List.of(new DrawInfo(5f, 6f)))));
+
+        //when
+        HashMap<Long, List<DrawInfo>> merged = StrokeCodec.decode(StrokeCodec.concat(List.of(first, second))).toDrawInfo();
+
+        //then
+        assertThat(merged.get(1L)).containsExactly(new DrawInfo(1f, 2f), new DrawInfo(3f, 4f), new DrawInfo(5f, 6f));
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 버전이나 잘린 페이로드는 거부한다.")
+    public void 잘못된_페이로드_거부_성공_유무() {
+        //given
+        byte[] encoded = StrokeCodec.encode(StrokeBatch.from(Map.of(1L, List.of(new DrawInfo(1f, 1f)))));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        //then
+        assertThatThrownBy(() -> StrokeCodec.validate(new byte[]{9})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StrokeCodec.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("멤버 수가 틀리거나 본문이 잘린 프레임은 중계 전에 거부한다.")
+    public void 구조가_틀린_프레임_검증_거부_성공_유무() {
+        //given
+        byte[] valid = StrokeCodec.encode(StrokeBatch.from(Map.of(1L, List.of(new DrawInfo(1f, 1f), new DrawInfo(2f, 2f)))));
+        // version, scale(10), memberCount 순서라 세 번째 바이트가 멤버 수다.
+        byte[] moreMembers = valid.clone();
+        moreMembers[2] = 2;
+        byte[] fewerMembers = valid.clone();
+        fewerMembers[2] = 0;
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 1);
+        byte[] trailing = Arrays.copyOf(valid, valid.length + 1);
+        byte[] lyingPointCount = StrokeCodec.encode(StrokeBatch.from(Map.of(1L, List.of(new DrawInfo(1f, 1f)))));
+        lyingPointCount[4] = 100;
+        byte[] unterminatedVarint = {1, 10, 1, (byte) 0x82, (byte) 0x80};
+
+        //then
+        StrokeCodec.validate(valid);
+        for (byte[] broken : List.of(moreMembers, fewerMembers, truncated, trailing, lyingPointCount, unterminatedVarint)) {
+            assertThatThrownBy(() -> StrokeCodec.validate(broken)).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> StrokeCodec.decode(trailing)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
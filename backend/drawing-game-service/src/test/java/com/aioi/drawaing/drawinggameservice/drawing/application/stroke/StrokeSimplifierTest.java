@@ -0,0 +1,53 @@
+package com.aioi.drawaing.drawinggameservice.drawing.application.stroke;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StrokeSimplifierTest {
+
+    @Test
+    @DisplayName("일직선 위의 점들은 양 끝점만 남는다.")
+    public void 일직선_단순화_성공_유무() {
+        //given
+        float[] coords = {0, 0, 1, 1, 2, 2, 3, 3.1f, 4, 4};
+
+        //when
+        float[] simplified = StrokeSimplifier.simplify(coords, 0.5f);
+
+        //then
+        assertThat(simplified).containsExactly(0, 0, 4, 4);
+    }
+
+    @Test
+    @DisplayName("허용 오차보다 크게 꺾이는 점은 유지된다.")
+    public void 꺾인_점_유지_성공_유무() {
+        //given
+        float[] coords = {0, 0, 5, 0.1f, 10, 0, 10, 10};
+
+        //when
+        float[] simplified = StrokeSimplifier.simplify(coords, 1f);
+
+        //then
+        assertThat(simplified).containsExactly(0, 0, 10, 0, 10, 10);
+    }
+
+    @Test
+    @DisplayName("단순화 전후 좌표 개수를 지표로 남긴다.")
+    public void 단순화_지표_기록_성공_유무() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StrokeSimplifier simplifier = new StrokeSimplifier(0.5f, meterRegistry);
+        StrokeBatch batch = new StrokeBatch(new long[]{1L}, new float[][]{{0, 0, 1, 1, 2, 2, 3, 3}});
+
+        //when
+        StrokeBatch simplified = simplifier.apply("room", "session", batch);
+
+        //then
+        assertThat(simplified.pointCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("drawing.stroke.simplify.points").tag("stage", "in").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("drawing.stroke.simplify.points").tag("stage", "out").counter().count()).isEqualTo(2);
+    }
+}
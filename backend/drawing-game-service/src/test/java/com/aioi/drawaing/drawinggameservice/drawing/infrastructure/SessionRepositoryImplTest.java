@@ -0,0 +1,64 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SessionRepositoryImplTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SessionRepositoryImpl repository = new SessionRepositoryImpl(mongoTemplate);
+
+    @Test
+    @DisplayName("정답 처리는 점수를 필드 단위로 올리고, 다음 라운드에 필요한 문서 전체를 돌려받는다.")
+    public void 정답_갱신_전체_문서_반환_성공_유무() {
+        //given
+        Session updated = Session.builder().id("s1").words(List.of("사과", "바나나")).roundCount(1).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Session.class)))
+                .thenReturn(updated);
+
+        //when
+        Session result = repository.win("s1", 1L, 2L, 30, 10);
+
+        //then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Session.class));
+        assertThat(query.getValue().getFieldsObject()).isEmpty();
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class))
+                .containsEntry("humanWin", 1)
+                .containsEntry("roundCount", 1)
+                .containsEntry("participants.1.bonusPointsDrawing", 10)
+                .containsEntry("participants.2.bonusPointsGuessing", 30);
+        assertThat(result.getWords()).containsExactly("사과", "바나나");
+    }
+
+    @Test
+    @DisplayName("라운드 실패도 projection 없이 갱신된 문서 전체를 돌려받는다.")
+    public void 라운드_증가_전체_문서_반환_성공_유무() {
+        //when
+        repository.incrementRoundCount("s1");
+
+        //then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), options.capture(), eq(Session.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", "s1");
+        assertThat(query.getValue().getFieldsObject()).isEmpty();
+        assertThat(options.getValue().isReturnNew()).isTrue();
+    }
+}
@@ -0,0 +1,195 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WriteBehindSessionStateStoreTest {
+    private final SessionRepository sessionRepository = mock(SessionRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final WriteBehindSessionStateStore store =
+            new WriteBehindSessionStateStore(sessionRepository, mongoTemplate, mock(ScheduledExecutorService.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "flushBatchSize", 2);
+        ReflectionTestUtils.setField(store, "closedRetentionMillis", 600_000L);
+        when(mongoTemplate.getConverter()).thenReturn(mock(MongoConverter.class));
+        when(mongoTemplate.getCollectionName(Session.class)).thenReturn("game_sessions");
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Session.class))).thenReturn(bulkOperations);
+    }
+
+    @Test
+    @DisplayName("새로 만든 세션은 메모리에 올리지 않고, 처음 쓸 때 한 번만 읽어 온다.")
+    public void 세션_캐시_조회_성공_유무() {
+        //given
+        when(sessionRepository.save(any())).thenReturn(session("s1"));
+        when(sessionRepository.findById("s1")).thenReturn(Optional.of(session("s1")));
+
+        //when
+        store.create("room-1");
+        int afterCreate = store.size();
+        Session started = store.start("s1", List.of("사과"), List.of(new AddRoomParticipantInfo(1L, "닉네임", "url")));
+        Session found = store.find("s1");
+
+        //then
+        assertThat(afterCreate).isZero();
+        assertThat(found).isSameAs(started);
+        verify(sessionRepository, times(1)).findById("s1");
+    }
+
+    @Test
+    @DisplayName("시작하지 못하고 방이 지워진 세션은 메모리에서 내리고 다시 올리지 않는다.")
+    public void 시작_안한_세션_정리_성공_유무() {
+        //given
+        when(sessionRepository.save(any())).thenReturn(session("s1"));
+        when(sessionRepository.findById("s1")).thenReturn(Optional.of(session("s1")));
+        store.create("room-1");
+        store.find("s1"); // 재접속 sync 등으로 한 번 읽힌 경우
+        assertThat(store.size()).isEqualTo(1);
+
+        //when
+        store.discard("s1");
+        store.find("s1");
+        store.flushOnShutdown();
+
+        //then
+        assertThat(store.size()).isZero();
+        verify(mongoTemplate, never()).save(any(), anyString());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Session.class));
+    }
+
+    @Test
+    @DisplayName("flush 가 먼저 만든 batch 문서를 쓰는 동안 close 는 기다려, 최종 저장이 덮어쓰이지 않는다.")
+    public void 저장_중_종료_순서_보장_성공_유무() throws Exception {
+        //given
+        when(sessionRepository.findById("s1")).thenReturn(Optional.of(session("s1")));
+        store.lose("s1");
+        List<String> writes = new CopyOnWriteArrayList<>();
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bulkOperations.execute()).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            writes.add("flush");
+            return null;
+        });
+        when(mongoTemplate.save(any(), eq("game_sessions"))).thenAnswer(invocation -> {
+            writes.add("close");
+            return invocation.getArgument(0);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when
+        Future<?> flush = executor.submit(store::flushOnShutdown);
+        flushing.await(5, TimeUnit.SECONDS);
+        store.lose("s1"); // 마지막 라운드 결과
+        Future<?> close = executor.submit(() -> store.close("s1"));
+        Thread.sleep(100);
+        boolean closedWhileFlushing = close.isDone();
+        release.countDown();
+        flush.get(5, TimeUnit.SECONDS);
+        close.get(5, TimeUnit.SECONDS);
+        store.flushOnShutdown();
+        executor.shutdown();
+
+        //then
+        assertThat(closedWhileFlushing).isFalse();
+        assertThat(writes).containsExactly("flush", "close");
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("끝난 세션은 다시 메모리에 올리지 않고, 늦게 온 변경은 저장하지 않는다.")
+    public void 끝난_세션_재적재_차단_성공_유무() {
+        //given
+        when(sessionRepository.save(any())).thenReturn(session("s1"));
+        when(sessionRepository.findById("s1")).thenReturn(Optional.of(session("s1")));
+        store.create("room-1");
+        store.start("s1", List.of("사과"), List.of(new AddRoomParticipantInfo(1L, "닉네임", "url")));
+
+        //when
+        store.close("s1");
+        Session late = store.find("s1");
+        store.find("s1");
+        boolean chance = store.decrementChanceCount("s1", 1L);
+        store.flushOnShutdown();
+
+        //then
+        assertThat(late).isNotNull();
+        verify(sessionRepository, times(3)).findById("s1"); // start 에서 한 번, 끝난 뒤 조회마다 한 번
+        assertThat(chance).isFalse();
+        assertThatThrownBy(() -> store.lose("s1")).isInstanceOf(IllegalStateException.class);
+        verify(mongoTemplate).save(any(), eq("game_sessions"));
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Session.class));
+    }
+
+    @Test
+    @DisplayName("변경된 세션만 batch 크기로 묶어 저장하고, 저장한 뒤에는 다시 쓰지 않는다.")
+    public void 변경_세션_일괄_저장_성공_유무() {
+        //given
+        for (String id : List.of("s1", "s2", "s3")) {
+            when(sessionRepository.findById(id)).thenReturn(Optional.of(session(id)));
+            store.lose(id);
+        }
+        when(sessionRepository.findById("s4")).thenReturn(Optional.of(session("s4")));
+        store.find("s4");
+
+        //when
+        store.flushOnShutdown();
+        store.flushOnShutdown();
+
+        //then
+        verify(bulkOperations, times(3)).replaceOne(any(), any(), any());
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 세션은 다음 flush 에서 다시 저장한다.")
+    public void 저장_실패_재시도_성공_유무() {
+        //given
+        when(sessionRepository.findById("s1")).thenReturn(Optional.of(session("s1")));
+        store.lose("s1");
+        when(bulkOperations.execute()).thenThrow(new IllegalStateException("mongo down")).thenReturn(null);
+
+        //when
+        assertThatThrownBy(store::flushOnShutdown).isInstanceOf(IllegalStateException.class);
+        store.flushOnShutdown();
+
+        //then
+        verify(bulkOperations, times(2)).replaceOne(any(), any(), any());
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    private static Session session(String id) {
+        return Session.builder().id(id).roomId("room-1").build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModelCircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final ModelCircuitBreaker breaker = new ModelCircuitBreaker(2, 1000, now::get);
+
+    @Test
+    @DisplayName("열린 뒤 시간이 지나면 요청 하나만 시험으로 보내고, 성공하면 닫힌다.")
+    public void 반열림_후_닫힘_성공_유무() {
+        //given
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        //when
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        //then
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(ModelCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    @DisplayName("시험 요청이 실패하면 다시 열린다.")
+    public void 반열림_실패_재열림_성공_유무() {
+        //given
+        breaker.onFailure();
+        breaker.onFailure();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat(breaker.allowRequest()).isTrue();
+
+        //when
+        breaker.onFailure();
+
+        //then
+        assertThat(breaker.state()).isEqualTo(ModelCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+    }
+}
@@ -0,0 +1,116 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai;
+
+import com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai.response.PredictResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ModelServerClientTest {
+    private static final byte[] PNG = {1, 2, 3};
+
+    private final ScheduledExecutorService schedule = Executors.newSingleThreadScheduledExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StubModelServer modelServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        modelServer = new StubModelServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        modelServer.close();
+        schedule.shutdownNow();
+    }
+
+    private ModelServerClient client(OkHttpClient okHttpClient, long windowMillis, int maxBatchSize, int maxInFlight,
+                                     int failureThreshold) {
+        return new ModelServerClient(okHttpClient, new ObjectMapper(), schedule, meterRegistry, modelServer.url(),
+                windowMillis, maxBatchSize, maxInFlight, 100, failureThreshold, 60_000);
+    }
+
+    @Test
+    @DisplayName("묶음 시간 안에 들어온 요청은 한 번에 보내고, 결과는 요청 순서대로 나눠 준다.")
+    public void 요청_묶음_전송_성공_유무() {
+        //given
+        ModelServerClient client = client(new OkHttpClient(), 100, 32, 4, 5);
+
+        //when
+        CompletableFuture<PredictResponse> apple = client.predict(PNG, "사과");
+        CompletableFuture<PredictResponse> banana = client.predict(PNG, "바나나");
+        CompletableFuture<PredictResponse> melon = client.predict(PNG, "수박");
+
+        //then
+        assertThat(apple.orTimeout(3, TimeUnit.SECONDS).join().result()).isEqualTo("사과");
+        assertThat(banana.join().result()).isEqualTo("바나나");
+        assertThat(melon.join().result()).isEqualTo("수박");
+        assertThat(modelServer.batches()).containsExactly(List.of("사과", "바나나", "수박"));
+    }
+
+    @Test
+    @DisplayName("동시에 보내는 묶음 수를 넘으면 앞선 묶음이 끝난 뒤 이어서 보낸다.")
+    public void 동시_요청_제한_성공_유무() {
+        //given
+        modelServer.delay(100);
+        ModelServerClient client = client(new OkHttpClient(), 0, 1, 1, 5);
+
+        //when
+        List<CompletableFuture<PredictResponse>> futures = List.of(
+                client.predict(PNG, "사과"), client.predict(PNG, "바나나"), client.predict(PNG, "수박"));
+
+        //then
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+        assertThat(modelServer.batches()).hasSize(3);
+        assertThat(modelServer.maxConcurrent()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("모델 서버가 타임아웃보다 늦으면 요청을 실패시킨다.")
+    public void 타임아웃_실패_성공_유무() {
+        //given
+        modelServer.delay(1000);
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().callTimeout(Duration.ofMillis(100)).build();
+        ModelServerClient client = client(okHttpClient, 0, 32, 4, 5);
+
+        //when
+        CompletableFuture<PredictResponse> future = client.predict(PNG, "사과");
+
+        //then
+        assertThatThrownBy(() -> future.orTimeout(3, TimeUnit.SECONDS).join()).hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("연속으로 실패하면 차단기가 열려 모델 서버에 보내지 않고 바로 실패시킨다.")
+    public void 차단기_열림_성공_유무() {
+        //given
+        modelServer.status(500);
+        ModelServerClient client = client(new OkHttpClient(), 0, 32, 4, 2);
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<PredictResponse> failed = client.predict(PNG, "사과");
+            assertThatThrownBy(() -> failed.orTimeout(3, TimeUnit.SECONDS).join()).hasCauseInstanceOf(IOException.class);
+        }
+
+        //when
+        CompletableFuture<PredictResponse> future = client.predict(PNG, "사과");
+
+        //then
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(modelServer.batches()).hasSize(2);
+        assertThat(meterRegistry.get("drawing.guess.rejected").tag("reason", "breaker").counter().count()).isEqualTo(1);
+    }
+}
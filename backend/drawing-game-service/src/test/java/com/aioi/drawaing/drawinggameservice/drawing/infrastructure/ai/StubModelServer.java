@@ -0,0 +1,106 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.ai;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 테스트용 모델 서버. FastAPI 의 /predict/batch 처럼 multipart 를 받아 그림마다 결과를 돌려준다.
+ * 따로 정하지 않으면 받은 제시어를 그대로 맞힌 것으로 돌려준다.
+ */
+public class StubModelServer implements AutoCloseable {
+    private static final Pattern QUIZ_WORD = Pattern.compile("name=\"quizWords\"\\r\\n(?:[^\\r\\n]+\\r\\n)*\\r\\n([^\\r\\n]*)");
+
+    private final HttpServer server;
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile String result;
+    private volatile long delayMillis;
+    private volatile int status = 200;
+
+    public StubModelServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/predict/batch", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                List<String> quizWords = new ArrayList<>();
+                Matcher matcher = QUIZ_WORD.matcher(body);
+                while (matcher.find()) {
+                    quizWords.add(matcher.group(1));
+                }
+                batches.add(quizWords);
+                sleep(delayMillis);
+                byte[] response = response(quizWords).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        });
+        server.start();
+    }
+
+    private String response(List<String> quizWords) {
+        StringBuilder json = new StringBuilder("{\"predictions\":[");
+        for (int i = 0; i < quizWords.size(); i++) {
+            String answer = result == null ? quizWords.get(i) : result;
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"result\":\"").append(answer)
+                    .append("\",\"correct\":").append(answer.equals(quizWords.get(i))).append("}");
+        }
+        return json.append("]}").toString();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public List<List<String>> batches() {
+        return batches;
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent.get();
+    }
+
+    public void respondWith(String result) {
+        this.result = result;
+    }
+
+    public void delay(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public void status(int status) {
+        this.status = status;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
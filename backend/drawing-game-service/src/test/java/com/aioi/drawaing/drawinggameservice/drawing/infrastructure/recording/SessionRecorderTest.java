@@ -0,0 +1,159 @@
+package com.aioi.drawaing.drawinggameservice.drawing.infrastructure.recording;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class SessionRecorderTest {
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SessionRecorder recorder(int queueCapacity) throws IOException {
+        return recorder(queueCapacity, 72, 1024);
+    }
+
+    private SessionRecorder recorder(int queueCapacity, long retentionHours, long maxTotalMb) throws IOException {
+        SessionRecorder recorder = new SessionRecorder(mock(ScheduledExecutorService.class), meterRegistry,
+                true, directory.toString(), 200, queueCapacity, retentionHours, maxTotalMb, 600_000);
+        recorder.start();
+        return recorder;
+    }
+
+    @Test
+    @DisplayName("기록한 순서대로 다시 읽을 수 있다.")
+    public void 기록_읽기_성공_유무() throws IOException {
+        //given
+        SessionRecorder recorder = recorder(100);
+        recorder.recordSessionStart("s1", List.of("사과", "바나나"));
+        recorder.recordStroke("s1", new byte[]{1, 2, 3});
+        recorder.flush();
+        recorder.recordChat("s1", 7L, "사과");
+        recorder.recordRound("s1", true, 1);
+        recorder.recordSessionEnd("s1");
+
+        //when
+        recorder.flush();
+        List<SessionRecord> records = recorder.read("s1");
+
+        //then
+        assertThat(records).extracting(SessionRecord::type).containsExactly(
+                RecordType.SESSION_START, RecordType.STROKE, RecordType.CHAT, RecordType.ROUND, RecordType.SESSION_END);
+        assertThat(new String(records.get(0).payload(), StandardCharsets.UTF_8)).isEqualTo("사과\n바나나");
+        assertThat(records.get(1).payload()).containsExactly(1, 2, 3);
+        ByteBuffer chat = ByteBuffer.wrap(records.get(2).payload());
+        assertThat(chat.getLong()).isEqualTo(7L);
+        assertThat(records.get(3).payload()[0]).isEqualTo((byte) 1);
+    }
+
+    @Test
+    @DisplayName("마지막 chunk 가 잘려 있으면 그 앞까지만 읽는다.")
+    public void 잘린_chunk_무시_성공_유무() throws IOException {
+        //given
+        SessionRecorder recorder = recorder(100);
+        recorder.recordStroke("s2", new byte[]{1});
+        recorder.flush();
+        recorder.recordStroke("s2", new byte[]{2});
+        recorder.flush();
+        recorder.shutdown();
+        Path path = recorder.path("s2");
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(Files.size(path) - 3);
+        }
+
+        //when
+        List<SessionRecord> records = recorder.read("s2");
+
+        //then
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).payload()).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기록을 버리고 개수를 센다.")
+    public void 대기열_초과_버림_성공_유무() throws IOException {
+        //given
+        SessionRecorder recorder = recorder(1);
+
+        //when
+        recorder.recordStroke("s3", new byte[]{1});
+        recorder.recordStroke("s3", new byte[]{2});
+
+        //then
+        assertThat(meterRegistry.get("recording.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("session id 에 경로 문자가 들어 있으면 거부한다.")
+    public void 잘못된_세션_아이디_거부_성공_유무() throws IOException {
+        //given
+        SessionRecorder recorder = recorder(10);
+
+        //when, then
+        assertThatThrownBy(() -> recorder.path("../etc"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("종료 기록 뒤에 늦게 들어온 기록은 버리고 파일을 다시 열지 않는다.")
+    public void 종료_이후_기록_버림_성공_유무() throws IOException {
+        //given
+        SessionRecorder recorder = recorder(100);
+        recorder.recordStroke("s4", new byte[]{1});
+        recorder.recordSessionEnd("s4");
+        recorder.recordChat("s4", 7L, "늦은 채팅");
+        recorder.flush();
+
+        //when
+        recorder.recordChat("s4", 8L, "더 늦은 채팅");
+        recorder.flush();
+        List<SessionRecord> records = recorder.read("s4");
+
+        //then
+        assertThat(records).extracting(SessionRecord::type).containsExactly(RecordType.STROKE, RecordType.SESSION_END);
+        assertThat(meterRegistry.get("recording.late").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 파일과 크기 한도를 넘긴 오래된 파일을 지우고, 기록 중인 파일은 남긴다.")
+    public void 기록_파일_정리_성공_유무() throws IOException {
+        //given
+        SessionRecorder recorder = recorder(100, 1, 1);
+        Path expired = Files.write(directory.resolve("old.rec"), new byte[10]);
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+        Path large = Files.write(directory.resolve("large.rec"), new byte[1024 * 1024]);
+        Files.setLastModifiedTime(large, FileTime.from(Instant.now().minus(30, ChronoUnit.MINUTES)));
+        Path recent = Files.write(directory.resolve("recent.rec"), new byte[10]);
+        recorder.recordStroke("live", new byte[]{1});
+        recorder.flush();
+        Files.setLastModifiedTime(recorder.path("live"), FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+
+        //when
+        recorder.purge();
+
+        //then
+        assertThat(expired).doesNotExist();
+        assertThat(large).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(recorder.path("live")).exists();
+        assertThat(meterRegistry.get("recording.purged").counter().count()).isEqualTo(2);
+    }
+}
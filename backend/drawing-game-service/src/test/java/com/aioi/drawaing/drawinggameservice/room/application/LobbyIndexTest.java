@@ -0,0 +1,128 @@
+package com.aioi.drawaing.drawinggameservice.room.application;
+
+import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyDelta;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyPage;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.LobbyRoom;
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
+import com.aioi.drawaing.drawinggameservice.room.presentation.RoomMessagePublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LobbyIndexTest {
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomMessagePublisher roomMessagePublisher = mock(RoomMessagePublisher.class);
+    private final LobbyIndex lobbyIndex = new LobbyIndex(roomRepository, roomMessagePublisher, new SimpleMeterRegistry(),
+            mock(ScheduledExecutorService.class));
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAll()).thenReturn(List.of());
+        lobbyIndex.load();
+    }
+
+    @Test
+    @DisplayName("커서로 최근 방부터 나눠 받고, 마지막 페이지는 nextCursor 가 없다.")
+    public void 로비_페이지_성공_유무() {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            lobbyIndex.upsert(room("room-" + i, 1L));
+        }
+
+        //when
+        LobbyPage first = lobbyIndex.page(null, 2);
+        LobbyPage second = lobbyIndex.page(first.nextCursor(), 2);
+        LobbyPage last = lobbyIndex.page(second.nextCursor(), 2);
+
+        //then
+        assertThat(first.rooms()).extracting(LobbyRoom::roomId).containsExactly("room-5", "room-4");
+        assertThat(second.rooms()).extracting(LobbyRoom::roomId).containsExactly("room-3", "room-2");
+        assertThat(last.rooms()).extracting(LobbyRoom::roomId).containsExactly("room-1");
+        assertThat(last.nextCursor()).isNull();
+        assertThat(first.seq()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("방이 바뀌면 그 방의 요약만 delta 로 보내고, 목록 순서는 처음 자리를 유지한다.")
+    public void 로비_delta_성공_유무() {
+        //given
+        Room room = room("room-1", 1L);
+        lobbyIndex.upsert(room);
+        lobbyIndex.upsert(room("room-2", 2L));
+
+        //when
+        room.addParticipant(new AddRoomParticipantInfo(3L, "닉네임", "url"));
+        room.updateParticipantReady(3L);
+        lobbyIndex.upsert(room);
+
+        //then
+        ArgumentCaptor<LobbyDelta> captor = ArgumentCaptor.forClass(LobbyDelta.class);
+        verify(roomMessagePublisher, times(3)).publishLobbyDelta(captor.capture());
+        LobbyDelta delta = captor.getValue();
+        assertThat(delta.type()).isEqualTo(LobbyDelta.Type.UPSERT);
+        assertThat(delta.room().participantCount()).isEqualTo(2);
+        assertThat(delta.room().readyCount()).isEqualTo(1);
+        assertThat(delta.seq()).isEqualTo(3);
+        assertThat(lobbyIndex.page(null, 10).rooms()).extracting(LobbyRoom::roomId).containsExactly("room-2", "room-1");
+    }
+
+    @Test
+    @DisplayName("삭제된 방은 목록에서 빠지고 REMOVE delta 를 한 번만 보낸다.")
+    public void 로비_삭제_성공_유무() {
+        //given
+        lobbyIndex.upsert(room("room-1", 1L));
+
+        //when
+        lobbyIndex.remove("room-1");
+        lobbyIndex.remove("room-1");
+
+        //then
+        ArgumentCaptor<LobbyDelta> captor = ArgumentCaptor.forClass(LobbyDelta.class);
+        verify(roomMessagePublisher, times(2)).publishLobbyDelta(captor.capture());
+        assertThat(captor.getValue()).isEqualTo(LobbyDelta.remove("room-1", 2));
+        assertThat(lobbyIndex.size()).isZero();
+        assertThat(lobbyIndex.page(null, 10).rooms()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("시작할 때 불러온 방은 delta 를 보내지 않는다.")
+    public void 로비_불러오기_성공_유무() {
+        //given
+        LobbyIndex loaded = new LobbyIndex(roomRepository, roomMessagePublisher, new SimpleMeterRegistry(),
+                mock(ScheduledExecutorService.class));
+        when(roomRepository.findAll()).thenReturn(List.of(room("room-1", 1L), room("room-2", 2L)));
+
+        //when
+        loaded.load();
+
+        //then
+        assertThat(loaded.size()).isEqualTo(2);
+        verify(roomMessagePublisher, never()).publishLobbyDelta(any());
+    }
+
+    private Room room(String roomId, Long hostId) {
+        Room room = Room.builder()
+                .id(roomId)
+                .title("방")
+                .hostId(hostId)
+                .status("READY")
+                .build();
+        room.addParticipant(new AddRoomParticipantInfo(hostId, "방장", "url"));
+        return room;
+    }
+}
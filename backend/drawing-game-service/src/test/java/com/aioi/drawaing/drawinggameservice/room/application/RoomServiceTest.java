@@ -0,0 +1,70 @@
+package com.aioi.drawaing.drawinggameservice.room.application;
+
+import com.aioi.drawaing.drawinggameservice.drawing.application.DrawingService;
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.RoomInfo;
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.RoomDirectory;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
+import com.aioi.drawaing.drawinggameservice.room.presentation.dto.CreateRoomRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RoomServiceTest {
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final DrawingService drawingService = mock(DrawingService.class);
+    private final RoomDirectory roomDirectory = mock(RoomDirectory.class);
+    private final LobbyIndex lobbyIndex = mock(LobbyIndex.class);
+    private final RoomService roomService = new RoomService(roomRepository, drawingService, roomDirectory, lobbyIndex);
+    private final CreateRoomRequest request = new CreateRoomRequest("방", new AddRoomParticipantInfo(1L, "닉네임", "url"));
+
+    @Test
+    @DisplayName("다른 노드가 같은 코드로 먼저 방을 만들었으면 코드를 놓아주고 새 코드로 다시 만든다.")
+    public void 코드_중복_재시도_성공_유무() {
+        //given
+        when(roomDirectory.reserveCode()).thenReturn("AAAAAA", "BBBBBB");
+        when(roomRepository.save(any(Room.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: rooms index: code_1"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        Session session = mock(Session.class);
+        when(session.getId()).thenReturn("session-1");
+        when(drawingService.createSession(any())).thenReturn(session);
+
+        //when
+        RoomInfo roomInfo = roomService.createRoom(request);
+
+        //then
+        assertThat(roomInfo.roomCode()).isEqualTo("BBBBBB");
+        verify(roomDirectory).release("AAAAAA");
+        verify(roomDirectory, never()).release("BBBBBB");
+        verify(roomDirectory).register(eq("BBBBBB"), any(), eq("방"), anyLong());
+        verify(drawingService, times(1)).createSession(any());
+    }
+
+    @Test
+    @DisplayName("코드 중복이 계속되면 정해진 횟수만 다시 시도하고 실패한다.")
+    public void 코드_중복_재시도_한도_실패_유무() {
+        //given
+        when(roomDirectory.reserveCode()).thenReturn("AAAAAA", "BBBBBB", "CCCCCC");
+        when(roomRepository.save(any(Room.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        //when, then
+        assertThatThrownBy(() -> roomService.createRoom(request)).isInstanceOf(DuplicateKeyException.class);
+        verify(roomDirectory, times(3)).release(anyString());
+        verify(drawingService, never()).createSession(any());
+    }
+}
@@ -0,0 +1,164 @@
+package com.aioi.drawaing.drawinggameservice.room.application;
+
+import com.aioi.drawaing.drawinggameservice.common.socket.RoomLaneExecutor;
+import com.aioi.drawaing.drawinggameservice.drawing.application.DrawingService;
+import com.aioi.drawaing.drawinggameservice.drawing.application.GameClock;
+import com.aioi.drawaing.drawinggameservice.drawing.domain.Session;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.AddRoomParticipantInfo;
+import com.aioi.drawaing.drawinggameservice.room.application.dto.RoomDelta;
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import com.aioi.drawaing.drawinggameservice.room.domain.RoomParticipant;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.RoomDirectory;
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
+import com.aioi.drawaing.drawinggameservice.room.presentation.RoomMessagePublisher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RoomSocketServiceTest {
+    private final RoomRepository repository = mock(RoomRepository.class);
+    private final DrawingService drawingService = mock(DrawingService.class);
+    private final RoomMessagePublisher roomMessagePublisher = mock(RoomMessagePublisher.class);
+    private final GameClock gameClock = mock(GameClock.class);
+    private final RoomDirectory roomDirectory = mock(RoomDirectory.class);
+    private final LobbyIndex lobbyIndex = mock(LobbyIndex.class);
+    private final RoomSocketService roomSocketService = new RoomSocketService(repository, drawingService,
+            roomMessagePublisher, gameClock, mock(RoomLaneExecutor.class), roomDirectory, lobbyIndex);
+
+    @Test
+    @DisplayName("조건부 추가가 실패하면 다시 읽은 방 상태로 실패 이유를 알려 준다.")
+    public void 정원_초과_입장_실패_유무() {
+        //given
+        Room full = room(1L, 1L, 2L, 3L, 4L);
+        when(repository.addParticipant(eq("room-1"), eq(5L), any(), eq(4))).thenReturn(null);
+        when(repository.findById("room-1")).thenReturn(Optional.of(full));
+
+        //when, then
+        assertThatThrownBy(() -> roomSocketService.joinRoom("room-1", new AddRoomParticipantInfo(5L, "닉네임", "url")))
+                .hasMessage("방이 이미 꽉 찼습니다.");
+        verify(roomMessagePublisher, never()).publishRoomState(any());
+    }
+
+    @Test
+    @DisplayName("게임이 끝나 방장이 없는 방에 들어오면 가장 먼저 들어온 사람을 방장으로 세운다.")
+    public void 입장_방장_선정_성공_유무() {
+        //given
+        Room joined = room(null, 7L);
+        Room elected = room(7L, 7L);
+        when(repository.addParticipant(eq("room-1"), eq(7L), any(), eq(4))).thenReturn(joined);
+        when(repository.electHost("room-1", null, 7L)).thenReturn(elected);
+
+        //when
+        roomSocketService.joinRoom("room-1", new AddRoomParticipantInfo(7L, "닉네임", "url"));
+
+        //then
+        verify(roomMessagePublisher).publishRoomState(elected);
+        verify(lobbyIndex).upsert(elected);
+    }
+
+    @Test
+    @DisplayName("DELTA 모드에서는 입장과 방장 선정을 각각의 version 을 가진 변경분으로만 보낸다.")
+    public void 입장_delta_성공_유무() {
+        //given
+        ReflectionTestUtils.setField(roomSocketService, "roomStateMode", RoomStateMode.DELTA);
+        Room joined = room(null, 7L);
+        Room elected = room(7L, 7L);
+        ReflectionTestUtils.setField(elected, "version", 4L);
+        when(repository.addParticipant(eq("room-1"), eq(7L), any(), eq(4))).thenReturn(joined);
+        when(repository.electHost("room-1", null, 7L)).thenReturn(elected);
+
+        //when
+        roomSocketService.joinRoom("room-1", new AddRoomParticipantInfo(7L, "닉네임", "url"));
+
+        //then
+        ArgumentCaptor<RoomDelta> captor = ArgumentCaptor.forClass(RoomDelta.class);
+        verify(roomMessagePublisher, times(2)).publishRoomDelta(eq("room-1"), captor.capture());
+        assertThat(captor.getAllValues()).extracting(RoomDelta::type, RoomDelta::version)
+                .containsExactly(tuple(RoomDelta.Type.JOINED, 3L),
+                        tuple(RoomDelta.Type.HOST, 4L));
+        assertThat(captor.getAllValues().get(0).participant().getNickname()).isEqualTo("닉네임7");
+        verify(roomMessagePublisher, never()).publishRoomState(any());
+    }
+
+    @Test
+    @DisplayName("마지막 사람이 나가도 그 사이 누가 들어왔다면 방을 지우지 않는다.")
+    public void 퇴장_삭제_경합_성공_유무() {
+        //given
+        when(repository.removeParticipant("room-1", 1L)).thenReturn(room(1L));
+        when(repository.deleteIfEmpty("room-1")).thenReturn(false);
+
+        //when
+        roomSocketService.leaveRoom("room-1", 1L);
+
+        //then
+        verify(lobbyIndex, never()).remove(anyString());
+        verify(roomDirectory, never()).remove(anyString());
+        verify(gameClock, never()).cancelTransition(anyString());
+        verify(drawingService, never()).discardSession(anyString());
+    }
+
+    @Test
+    @DisplayName("마지막 사람이 나가 방을 지우면 다음 게임용으로 만들어 둔 세션도 정리한다.")
+    public void 퇴장_방_삭제_세션_정리_성공_유무() {
+        //given
+        when(repository.removeParticipant("room-1", 1L)).thenReturn(room(1L));
+        when(repository.deleteIfEmpty("room-1")).thenReturn(true);
+
+        //when
+        roomSocketService.leaveRoom("room-1", 1L);
+
+        //then
+        verify(roomDirectory).remove("room-1");
+        verify(lobbyIndex).remove("room-1");
+        verify(drawingService).discardSession("session-1");
+    }
+
+    @Test
+    @DisplayName("준비 확인 뒤에 방이 바뀌었다면 게임을 시작하지 않는다.")
+    public void 시작_버전_충돌_실패_유무() {
+        //given
+        Room ready = room(1L, 1L, 2L);
+        ready.getParticipants().values().forEach(RoomParticipant::updateReady);
+        Session session = mock(Session.class);
+        when(session.getId()).thenReturn("session-2");
+        when(repository.findById("room-1")).thenReturn(Optional.of(ready));
+        when(drawingService.createSession("room-1")).thenReturn(session);
+        when(repository.startGame("room-1", 3L, "session-2")).thenReturn(null);
+
+        //when, then
+        assertThatThrownBy(() -> roomSocketService.startGame("room-1", 1L))
+                .hasMessage("방 상태가 바뀌어 게임을 시작하지 못했습니다.");
+        verify(roomMessagePublisher, never()).publishRoomStart(anyString(), any());
+        verify(gameClock, never()).scheduleTransition(anyString(), anyLong(), any());
+    }
+
+    private Room room(Long hostId, Long... memberIds) {
+        Room room = Room.builder()
+                .id("room-1")
+                .hostId(hostId)
+                .sessionId("session-1")
+                .status("READY")
+                .version(3L)
+                .build();
+        for (Long memberId : memberIds) {
+            room.addParticipant(new AddRoomParticipantInfo(memberId, "닉네임" + memberId, "url"));
+        }
+        return room;
+    }
+}
@@ -0,0 +1,141 @@
+package com.aioi.drawaing.drawinggameservice.room.infrastructure;
+
+import com.aioi.drawaing.drawinggameservice.room.infrastructure.repository.RoomRepository;
+import com.aioi.drawaing.drawinggameservice.room.domain.Room;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RoomDirectoryTest {
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomDirectory roomDirectory = new RoomDirectory(roomRepository, new SimpleMeterRegistry(),
+            mock(ScheduledExecutorService.class));
+
+    @Test
+    @DisplayName("동시에 코드를 잡아도 같은 코드가 두 번 나오지 않는다.")
+    public void 코드_중복_없음_성공_유무() throws InterruptedException {
+        //given
+        when(roomRepository.findAll()).thenReturn(List.of());
+        roomDirectory.load();
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> codes.add(roomDirectory.reserveCode()));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(codes).hasSize(10_000);
+        assertThat(roomDirectory.size()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("등록한 방은 Mongo 조회 없이 코드로 찾고, 인원 수 변경도 반영한다.")
+    public void 코드_조회_성공_유무() {
+        //given
+        String code = roomDirectory.reserveCode();
+        roomDirectory.register(code, "room-1", "방", 1);
+
+        //when
+        roomDirectory.updateParticipants("room-1", 3);
+        RoomDirectory.Entry entry = roomDirectory.find(code);
+
+        //then
+        assertThat(entry).isEqualTo(new RoomDirectory.Entry("room-1", "방", 3));
+        verify(roomRepository, never()).findByCode(anyString());
+    }
+
+    @Test
+    @DisplayName("방을 지우거나 생성에 실패하면 코드를 놓아준다.")
+    public void 코드_반납_성공_유무() {
+        //given
+        when(roomRepository.findByCode(anyString())).thenReturn(Optional.empty());
+        String deleted = roomDirectory.reserveCode();
+        roomDirectory.register(deleted, "room-1", "방", 1);
+        String failed = roomDirectory.reserveCode();
+
+        //when
+        roomDirectory.remove("room-1");
+        roomDirectory.release(failed);
+
+        //then
+        assertThat(roomDirectory.find(deleted)).isNull();
+        assertThat(roomDirectory.find(failed)).isNull();
+        assertThat(roomDirectory.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 만든 방은 Mongo 에서 찾되 캐시하지 않아 삭제와 인원 변경이 바로 보인다.")
+    public void 다른_노드_방_조회_성공_유무() {
+        //given
+        Room room = Room.builder().id("room-9").title("다른 노드 방").code("REMOTE").build();
+        when(roomRepository.findByCode("REMOTE")).thenReturn(Optional.of(room), Optional.empty());
+
+        //when
+        RoomDirectory.Entry first = roomDirectory.find("REMOTE");
+        RoomDirectory.Entry afterDelete = roomDirectory.find("REMOTE");
+
+        //then
+        assertThat(first).isEqualTo(new RoomDirectory.Entry("room-9", "다른 노드 방", 0));
+        assertThat(afterDelete).isNull();
+        assertThat(roomDirectory.size()).isZero();
+        verify(roomRepository, times(2)).findByCode("REMOTE");
+    }
+
+    @Test
+    @DisplayName("시작할 때 Mongo 를 못 읽으면 잠시 뒤 다시 읽고, 그 사이 등록된 방은 덮어쓰지 않는다.")
+    public void 시작_로딩_재시도_성공_유무() {
+        //given
+        ScheduledExecutorService schedule = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(schedule).execute(any(Runnable.class));
+        RoomDirectory directory = new RoomDirectory(roomRepository, new SimpleMeterRegistry(), schedule);
+        when(roomRepository.findAll()).thenThrow(new DataAccessResourceFailureException("mongo down"));
+        directory.loadOnReady();
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(schedule).schedule(retry.capture(), anyLong(), eq(TimeUnit.SECONDS));
+        directory.register("ABC123", "room-1", "방", 1);
+        directory.updateParticipants("room-1", 4);
+        reset(roomRepository);
+        when(roomRepository.findAll()).thenReturn(List.of(
+                Room.builder().id("room-1").title("방").code("ABC123").build(),
+                Room.builder().id("room-2").title("다른 방").code("XYZ789").build()));
+
+        //when
+        retry.getValue().run();
+
+        //then
+        assertThat(directory.find("ABC123")).isEqualTo(new RoomDirectory.Entry("room-1", "방", 4));
+        assertThat(directory.find("XYZ789")).isEqualTo(new RoomDirectory.Entry("room-2", "다른 방", 0));
+        assertThat(directory.size()).isEqualTo(2);
+    }
+}
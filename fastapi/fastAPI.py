@@ -157,6 +157,8 @@ import os
 from fastapi import Form
 
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi import HTTPException
+from typing import List
 
 origins = [
     "https://www.drawaing.site",
@@ -269,6 +271,30 @@ async def predict(file: UploadFile = File(...), quizWord: str = Form(...)):
         "correct": correct
     }
 
+# 여러 세션의 그림을 한 번에 추론한다. files 와 quizWords 는 같은 순서로 보내고, 결과도 그 순서로 돌려준다.
+@app.post("/predict/batch")
+async def predict_batch(files: List[UploadFile] = File(...), quizWords: List[str] = Form(...)):
+    if len(files) != len(quizWords):
+        raise HTTPException(status_code=400, detail="files 와 quizWords 의 개수가 다릅니다.")
+
+    image_tensors = [transform_image(await file.read(), save_transformed_image=False) for file in files]
+    batch_tensor = torch.cat(image_tensors).to(device)
+
+    with torch.no_grad():
+        probabilities = torch.nn.functional.softmax(model(batch_tensor), dim=1)
+        top_probs, top_indices = torch.topk(probabilities, 5, dim=1)
+
+    predictions = []
+    for i, quizWord in enumerate(quizWords):
+        classes = [class_labels[idx.item()] for idx in top_indices[i]]
+        correct = quizWord in classes
+        predictions.append({
+            "result": quizWord if correct else classes[0],
+            "correct": correct
+        })
+
+    return {"predictions": predictions}
+
 if __name__ == "__main__":
     import uvicorn
     uvicorn.run(app, host="0.0.0.0", port=8000)
\ No newline at end of file